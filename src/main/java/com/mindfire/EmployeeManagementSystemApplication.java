@@ -3,11 +3,13 @@ package com.mindfire;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableTransactionManagement
 @EnableFeignClients
+@EnableScheduling
 public class EmployeeManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -3,13 +3,18 @@ package com.mindfire.advice;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.mindfire.exception.CustomFeignException;
 import com.mindfire.exception.EmployeeNotFoundException;
+import com.mindfire.exception.InvalidRequestException;
 import com.mindfire.exception.PerformanceNotAddedException;
+import com.mindfire.exception.PerformanceSubmissionNotFoundException;
+import com.mindfire.exception.SalaryRevisionJobNotFoundException;
 /***
  * EmployeeExceptionHandler class for handling exceptions in all the controller classes.
  */
@@ -59,5 +64,44 @@ public class EmployeeExceptionHandler {
 		String string=ex.getMessage();
 		return string;
 	}
+	/**
+	 * Exception handler method for handling {@link PerformanceSubmissionNotFoundException}.
+	 * This method is invoked when the status of an unknown performance submission is requested.
+	 * 
+	 * @param ex The {@link PerformanceSubmissionNotFoundException} instance containing the exception details.
+	 * @return A string message from the exception describing the error, to be returned to the client.
+	 */
+	@ExceptionHandler(PerformanceSubmissionNotFoundException.class)
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	public String handleUnknownSubmission(PerformanceSubmissionNotFoundException ex){
+		String string=ex.getMessage();
+		return string;
+	}
+	/**
+	 * Exception handler method for handling {@link SalaryRevisionJobNotFoundException}.
+	 * This method is invoked when an unknown or expired salary revision job is requested.
+	 * 
+	 * @param ex The {@link SalaryRevisionJobNotFoundException} instance containing the exception details.
+	 * @return A string message from the exception describing the error, to be returned to the client.
+	 */
+	@ExceptionHandler(SalaryRevisionJobNotFoundException.class)
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	public String handleUnknownSalaryRevision(SalaryRevisionJobNotFoundException ex){
+		String string=ex.getMessage();
+		return string;
+	}
+	/**
+	 * Exception handler method for handling {@link InvalidRequestException}.
+	 * This method is invoked when a request parameter such as a page token or page size is malformed.
+	 * 
+	 * @param ex The {@link InvalidRequestException} instance containing the exception details.
+	 * @return A string message from the exception describing the error, to be returned to the client.
+	 */
+	@ExceptionHandler(InvalidRequestException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public String handleInvalidRequest(InvalidRequestException ex){
+		String string=ex.getMessage();
+		return string;
+	}
 	
 }
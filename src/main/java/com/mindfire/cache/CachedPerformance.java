@@ -0,0 +1,21 @@
+package com.mindfire.cache;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.mindfire.model.PerformanceResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+/**
+ * Performance records of one employee as last fetched from PERFORMANCE-SERVICE.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedPerformance {
+	
+	private final List<PerformanceResponse> performances;
+	
+	private final Instant fetchedAt;
+	
+}
@@ -0,0 +1,66 @@
+package com.mindfire.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.event.DepartmentChangedEvent;
+import com.mindfire.event.EmployeeChangedEvent;
+/**
+ * Evicts cached employees and departments when the service layer reports a change.
+ * Entries are evicted both just before and right after the commit: the first eviction stops
+ * readers from serving the old value while the commit is in flight, the second removes anything
+ * a concurrent reader loaded in between. Outside a transaction both run immediately.
+ * The after-commit evictions run before other listeners, so {@link ResourceVersions} only moves
+ * to a new version once the old entities are gone.
+ */
+@Component
+public class EntityCacheInvalidator {
+	
+	@Autowired
+	private ReadThroughCache<Integer, Employee> employeeCache;
+	@Autowired
+	private ReadThroughCache<Integer, Department> departmentCache;
+	
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void beforeEmployeeCommit(EmployeeChangedEvent event) {
+		evict(event);
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void afterEmployeeCommit(EmployeeChangedEvent event) {
+		evict(event);
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void beforeDepartmentCommit(DepartmentChangedEvent event) {
+		evict(event);
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void afterDepartmentCommit(DepartmentChangedEvent event) {
+		evict(event);
+	}
+	
+	private void evict(EmployeeChangedEvent event) {
+		if (event.isAllEmployees()) {
+			employeeCache.invalidateAll();
+		} else {
+			event.getEmployeeIds().forEach(employeeCache::invalidate);
+		}
+	}
+	/**
+	 * Cached employees embed their departments, so the members of a renamed department go as well.
+	 */
+	private void evict(DepartmentChangedEvent event) {
+		departmentCache.invalidate(event.getDepartmentId());
+		event.getMemberIds().forEach(employeeCache::invalidate);
+	}
+}
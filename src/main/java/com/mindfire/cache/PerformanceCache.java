@@ -0,0 +1,90 @@
+package com.mindfire.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mindfire.client.PerformanceClient;
+import com.mindfire.model.PerformanceResponse;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+/**
+ * Stale-while-revalidate cache of the last successful performance lookup per employee.
+ * 
+ * Reads are answered from the cache straight away. Once an entry is older than
+ * {@code ems.performance.cache.refresh-after}, the next read still returns it but also starts a
+ * background refresh through the {@code performanceBreaker} circuit breaker; a failed refresh keeps
+ * the old entry. Entries are dropped after {@code ems.performance.cache.max-age}.
+ */
+@Component
+public class PerformanceCache {
+	
+	private final LoadingCache<Integer, CachedPerformance> cache;
+	
+	private final ExecutorService refreshExecutor;
+	
+	private final Duration refreshAfter;
+	
+	@Autowired
+	public PerformanceCache(PerformanceClient performanceClient, CircuitBreakerRegistry circuitBreakerRegistry,
+			MeterRegistry meterRegistry,
+			@Value("${ems.performance.cache.maximum-size:10000}") long maximumSize,
+			@Value("${ems.performance.cache.refresh-after:1m}") Duration refreshAfter,
+			@Value("${ems.performance.cache.max-age:1h}") Duration maxAge,
+			@Value("${ems.performance.cache.refresh-threads:4}") int refreshThreads) {
+		CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("performanceBreaker");
+		this.refreshAfter = refreshAfter;
+		this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads);
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.refreshAfterWrite(refreshAfter)
+				.expireAfterWrite(maxAge)
+				.executor(refreshExecutor)
+				.recordStats()
+				.build(employeeId -> new CachedPerformance(
+						circuitBreaker.executeSupplier(() -> performanceClient.getPerformanceById(employeeId)), Instant.now()));
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "performances");
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		refreshExecutor.shutdown();
+	}
+	/**
+	 * Returns the cached records, scheduling a background refresh when they are due for one.
+	 */
+	public Optional<CachedPerformance> get(int employeeId) {
+		return Optional.ofNullable(cache.getIfPresent(employeeId));
+	}
+	/**
+	 * Returns the cached records without scheduling a refresh, for use when the downstream service is failing.
+	 */
+	public Optional<CachedPerformance> peek(int employeeId) {
+		return Optional.ofNullable(cache.policy().getIfPresentQuietly(employeeId));
+	}
+	
+	public void put(int employeeId, List<PerformanceResponse> performances) {
+		cache.put(employeeId, new CachedPerformance(performances, Instant.now()));
+	}
+	
+	public void invalidate(int employeeId) {
+		cache.invalidate(employeeId);
+	}
+	
+	public boolean isStale(CachedPerformance cached) {
+		return cached.getFetchedAt().plus(refreshAfter).isBefore(Instant.now());
+	}
+}
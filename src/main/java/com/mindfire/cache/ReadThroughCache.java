@@ -0,0 +1,62 @@
+package com.mindfire.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+/**
+ * Bounded, size- and TTL-evicting read-through cache with hit/miss metrics.
+ * 
+ * Every invalidation bumps a generation counter. A loader that started before an invalidation
+ * drops the value it loaded instead of caching it, so a read that raced with a write can never
+ * put a pre-write value back into the cache.
+ */
+public class ReadThroughCache<K, V> {
+	
+	private final Cache<K, V> cache;
+	
+	private final AtomicLong generation = new AtomicLong();
+	
+	public ReadThroughCache(String name, long maximumSize, Duration timeToLive, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLive)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+	}
+	/**
+	 * Returns the cached value for the key, loading and caching it on a miss.
+	 * Exceptions thrown by the loader are propagated and nothing is cached.
+	 */
+	public V get(K key, Function<K, V> loader) {
+		V cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+		long observed = generation.get();
+		V loaded = loader.apply(key);
+		if (loaded != null) {
+			cache.put(key, loaded);
+			if (generation.get() != observed) {
+				cache.invalidate(key);
+			}
+		}
+		return loaded;
+	}
+	
+	public void invalidate(K key) {
+		generation.incrementAndGet();
+		cache.invalidate(key);
+	}
+	
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		cache.invalidateAll();
+	}
+}
@@ -0,0 +1,95 @@
+package com.mindfire.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mindfire.event.DepartmentChangedEvent;
+import com.mindfire.event.EmployeeChangedEvent;
+/**
+ * Version counters for the employee and department endpoints, from which their strong ETags are built.
+ *
+ * Each collection has one counter, bumped after every committed change reported by the service layer.
+ * Single entities share a fixed set of counters picked by id, so memory stays bounded however many
+ * employees there are; two ids on the same counter only cost each other an extra full response.
+ * Counters move after the commit and after {@link EntityCacheInvalidator} has evicted the changed
+ * entities, so a tag is never paired with data older than the version it names. A response may
+ * still carry data newer than its tag, which costs the client one extra full response later.
+ * Every tag includes the start time of this instance, so restarts never reuse an old tag.
+ */
+@Component
+public class ResourceVersions {
+
+	private static final int ENTITY_COUNTERS = 4096;
+
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+	private final AtomicLong employees = new AtomicLong();
+
+	private final AtomicLong departments = new AtomicLong();
+
+	private final AtomicLongArray employeeCounters = new AtomicLongArray(ENTITY_COUNTERS);
+
+	private final AtomicLongArray departmentCounters = new AtomicLongArray(ENTITY_COUNTERS);
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (event.isAllEmployees()) {
+			for (int i = 0; i < ENTITY_COUNTERS; i++) {
+				employeeCounters.incrementAndGet(i);
+			}
+		} else {
+			event.getEmployeeIds().forEach(id -> employeeCounters.incrementAndGet(counter(id)));
+		}
+		employees.incrementAndGet();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	public void onDepartmentChanged(DepartmentChangedEvent event) {
+		departmentCounters.incrementAndGet(counter(event.getDepartmentId()));
+		departments.incrementAndGet();
+		// Employee responses embed their departments, so the members' tags move as well
+		if (!event.getMemberIds().isEmpty()) {
+			event.getMemberIds().forEach(id -> employeeCounters.incrementAndGet(counter(id)));
+			employees.incrementAndGet();
+		}
+	}
+	/**
+	 * Tag of the employee list in the given view.
+	 */
+	public String employeesTag(String view) {
+		return tag("employees-" + view, employees.get());
+	}
+
+	public String employeeTag(int id) {
+		return tag("employee-" + id, employeeCounters.get(counter(id)));
+	}
+
+	public String departmentsTag() {
+		return tag("departments", departments.get());
+	}
+
+	public String departmentTag(int id) {
+		return tag("department-" + id, departmentCounters.get(counter(id)));
+	}
+	/**
+	 * Tag of the per-department headcounts, which change with both employees and departments.
+	 */
+	public String headcountsTag() {
+		return tag("headcounts", employees.get() + "." + departments.get());
+	}
+
+	private String tag(String resource, Object version) {
+		return "\"" + resource + "-" + epoch + "-" + version + "\"";
+	}
+
+	private static int counter(int id) {
+		return Math.floorMod(id, ENTITY_COUNTERS);
+	}
+}
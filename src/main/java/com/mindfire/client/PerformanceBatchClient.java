@@ -0,0 +1,160 @@
+package com.mindfire.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.mindfire.model.PerformanceResponse;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+/**
+ * Fetches performance records for many employees concurrently.
+ * Calls run on virtual threads when {@code spring.threads.virtual.enabled} is set on Java 21+,
+ * otherwise on a fixed pool of platform threads. Either way at most
+ * {@code ems.performance.fan-out.max-in-flight} calls are outstanding at once, and a whole batch
+ * never waits longer than the given deadline. Calls still unfinished at the deadline are abandoned:
+ * queued ones never start, running ones are interrupted, and their permits are returned at once
+ * so they cannot hold up later batches.
+ */
+@Component
+public class PerformanceBatchClient {
+	
+	@Autowired
+	private PerformanceClient performanceClient;
+	@Autowired
+	private Environment environment;
+	@Value("${ems.performance.fan-out.max-in-flight:20}")
+	private int maxInFlight;
+	
+	private Semaphore inFlight;
+	
+	private AsyncTaskExecutor executor;
+	
+	@PostConstruct
+	public void init() {
+		inFlight = new Semaphore(maxInFlight);
+		if (Threading.VIRTUAL.isActive(environment)) {
+			SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("performance-");
+			virtualExecutor.setVirtualThreads(true);
+			executor = virtualExecutor;
+		} else {
+			ThreadPoolTaskExecutor poolExecutor = new ThreadPoolTaskExecutor();
+			poolExecutor.setCorePoolSize(maxInFlight);
+			poolExecutor.setMaxPoolSize(maxInFlight);
+			poolExecutor.setThreadNamePrefix("performance-");
+			poolExecutor.initialize();
+			executor = poolExecutor;
+		}
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		if (executor instanceof ThreadPoolTaskExecutor poolExecutor) {
+			poolExecutor.shutdown();
+		}
+	}
+	/**
+	 * Starts one lookup per employee id and waits until all of them finish or the deadline passes.
+	 * The returned futures are keyed by employee id, in the order given. A future that is not done
+	 * normally either failed or, if it was cancelled or failed with a {@link TimeoutException},
+	 * ran out of time.
+	 */
+	public Map<Integer, CompletableFuture<List<PerformanceResponse>>> fetchAll(Collection<Integer> employeeIds, Duration deadline) {
+		long deadlineNanos = System.nanoTime() + deadline.toNanos();
+		Map<Integer, CompletableFuture<List<PerformanceResponse>>> lookups = new LinkedHashMap<>();
+		List<Call> calls = new ArrayList<>();
+		for (Integer employeeId : employeeIds) {
+			Call call = new Call(employeeId, deadlineNanos);
+			call.task = executor.submit(call);
+			calls.add(call);
+			lookups.put(employeeId, call.result);
+		}
+		try {
+			CompletableFuture.allOf(lookups.values().toArray(new CompletableFuture[0]))
+					.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			// Partial results: unfinished calls are abandoned below, failed ones keep their exception
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		calls.forEach(Call::abandon);
+		return lookups;
+	}
+	/**
+	 * One lookup. Its permit is released exactly once, by whichever comes first of the call
+	 * returning and the call being abandoned.
+	 */
+	private final class Call implements Runnable {
+		
+		private final int employeeId;
+		
+		private final long deadlineNanos;
+		
+		private final CompletableFuture<List<PerformanceResponse>> result = new CompletableFuture<>();
+		
+		private final AtomicBoolean holdsPermit = new AtomicBoolean();
+		
+		private Future<?> task;
+		
+		private Call(int employeeId, long deadlineNanos) {
+			this.employeeId = employeeId;
+			this.deadlineNanos = deadlineNanos;
+		}
+		
+		@Override
+		public void run() {
+			try {
+				if (!inFlight.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+					result.completeExceptionally(new TimeoutException());
+					return;
+				}
+			} catch (InterruptedException e) {
+				// Abandoned while waiting for a permit
+				Thread.currentThread().interrupt();
+				return;
+			}
+			holdsPermit.set(true);
+			try {
+				result.complete(performanceClient.getPerformanceById(employeeId));
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+			} finally {
+				releasePermit();
+			}
+		}
+		/**
+		 * Cancels the lookup unless it is done, stops the call and gives back its permit.
+		 */
+		private void abandon() {
+			result.cancel(true);
+			task.cancel(true);
+			releasePermit();
+		}
+		
+		private void releasePermit() {
+			if (holdsPermit.compareAndSet(true, false)) {
+				inFlight.release();
+			}
+		}
+	}
+}
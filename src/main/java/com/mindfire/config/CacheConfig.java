@@ -0,0 +1,30 @@
+package com.mindfire.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mindfire.cache.ReadThroughCache;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+
+import io.micrometer.core.instrument.MeterRegistry;
+@Configuration
+public class CacheConfig {
+	
+	@Bean
+	public ReadThroughCache<Integer, Employee> employeeCache(MeterRegistry meterRegistry,
+			@Value("${ems.cache.employee.maximum-size:10000}") long maximumSize,
+			@Value("${ems.cache.employee.ttl:10m}") Duration timeToLive) {
+		return new ReadThroughCache<>("employees", maximumSize, timeToLive, meterRegistry);
+	}
+	
+	@Bean
+	public ReadThroughCache<Integer, Department> departmentCache(MeterRegistry meterRegistry,
+			@Value("${ems.cache.department.maximum-size:1000}") long maximumSize,
+			@Value("${ems.cache.department.ttl:10m}") Duration timeToLive) {
+		return new ReadThroughCache<>("departments", maximumSize, timeToLive, meterRegistry);
+	}
+}
@@ -0,0 +1,49 @@
+package com.mindfire.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+/**
+ * Moves the table-backed id sequences past the highest id already stored.
+ * Employee and Department ids used to come from AUTO_INCREMENT columns; on MySQL the pooled
+ * sequences that replaced them are emulated by the {@code employee_seq} and {@code department_seq}
+ * tables, which Hibernate creates starting at 1. Without this step the first allocated block
+ * would collide with existing rows.
+ *
+ * The pooled optimizer hands out the {@value #ALLOCATION_SIZE} ids up to the stored value, so a
+ * sequence is only safe once it is more than a whole block past the highest id. Alignment runs
+ * once every singleton, including the schema, is ready and before the web server takes requests.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.id-sequence.align-on-startup", havingValue = "true")
+public class IdSequenceAligner implements SmartInitializingSingleton {
+	
+	private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+	/**
+	 * Must match the allocationSize of the entities' sequence generators.
+	 */
+	private static final int ALLOCATION_SIZE = 50;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		align("employee_seq", "employee");
+		align("department_seq", "department");
+	}
+	
+	private void align(String sequenceTable, String entityTable) {
+		String sql = "UPDATE " + sequenceTable + " SET next_val = "
+				+ "(SELECT COALESCE(MAX(id), 0) + " + (ALLOCATION_SIZE + 1) + " FROM " + entityTable + ") "
+				+ "WHERE next_val <= (SELECT COALESCE(MAX(id), 0) + " + ALLOCATION_SIZE + " FROM " + entityTable + ")";
+		int updated = jdbcTemplate.update(sql);
+		if (updated > 0) {
+			log.info("Moved {} past the existing {} ids", sequenceTable, entityTable);
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.mindfire.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mindfire.metrics.JdbcActivityListener;
+import com.mindfire.metrics.QueryBudgetInspector;
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer jdbcActivityListener() {
+		return properties -> properties.put("hibernate.session.events.auto", JdbcActivityListener.class.getName());
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer queryBudgetInspector() {
+		// Left alone when another inspector is configured, as the statement-counting tests do
+		return properties -> properties.putIfAbsent("hibernate.session_factory.statement_inspector", QueryBudgetInspector.class.getName());
+	}
+}
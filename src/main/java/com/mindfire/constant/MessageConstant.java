@@ -5,4 +5,24 @@ public class MessageConstant {
 	public static final String FEEDBACK_NOT_ADDED="No feedback Available for empployee id: ";
 	public static final String UNEXPECTED_ERROR="An unexpected error occurred while adding performance.";
 	public static final String FEEDBACK_ADD_ERROR="Error while adding performance: ";
+	public static final String INVALID_PAGE_TOKEN="Invalid page token: ";
+	public static final String INVALID_PAGE_SIZE="Page size must be between 1 and ";
+	public static final String DEPARTMENT_NOT_FOUND="Department Not Found With Id: ";
+	public static final String DUPLICATE_EMAIL="Email already in use: ";
+	public static final String BULK_TOO_LARGE="Bulk request can contain at most rows: ";
+	public static final String BULK_CHUNK_FAILED="Chunk insert failed: ";
+	public static final String INVALID_TOP_N="n must be between 1 and ";
+	public static final String MISSING_EMPLOYEE_SELECTION="Either ids or departmentId must be given";
+	public static final String TOO_MANY_EMPLOYEES="Performance lookups are limited to employees: ";
+	public static final String SUBMISSION_NOT_FOUND="Performance Submission Not Found With Id: ";
+	public static final String SALARY_REVISION_NOT_FOUND="Salary Revision Not Found With Id: ";
+	public static final String INVALID_SALARY_PERCENTAGE="Percentage must be greater than -100: ";
+	public static final String INVALID_SALARY_BAND="minSalary must not be greater than maxSalary";
+	public static final String INVALID_VIEW="view must be full or summary: ";
+	public static final String MISSING_TRANSFER_EMPLOYEES="employeeIds must not be empty";
+	public static final String SAME_DEPARTMENT_TRANSFER="Source and target department must differ: ";
+	public static final String INVALID_DATE_RANGE="from must not be after to";
+	public static final String INVALID_GRANULARITY="granularity must be month or quarter: ";
+	public static final String MISSING_SEARCH_QUERY="q must not be blank";
+	public static final String INVALID_SEARCH_LIMIT="limit must be between 1 and ";
 }
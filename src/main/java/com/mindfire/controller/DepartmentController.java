@@ -17,9 +17,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.mindfire.cache.ResourceVersions;
 import com.mindfire.entity.Department;
 import com.mindfire.entity.Employee;
+import com.mindfire.model.KeysetSlice;
+import com.mindfire.model.SalaryStats;
 import com.mindfire.service.impl.DepartmentServiceImpl;
 import com.mindfire.service.impl.EmployeeServiceImpl;
 /**
@@ -34,6 +38,8 @@ import com.mindfire.service.impl.EmployeeServiceImpl;
 public class DepartmentController {
 	@Autowired
 	private DepartmentServiceImpl departmentServiceImpl;
+	@Autowired
+	private ResourceVersions resourceVersions;
 	
 	/**
      * Add a new department.
@@ -58,16 +64,24 @@ public class DepartmentController {
 	/**
      * Get a count of employees for each department.
      *
+     * @param request carries the client's If-None-Match; answered with 304 Not Modified while its ETag is current
      * @return ResponseEntity containing a map of department names and employee counts.
      */
 	@GetMapping("/count")
-	public ResponseEntity<HashMap<String, Integer>> getEmployeeOfEachDepartment(){
+	public ResponseEntity<HashMap<String, Integer>> getEmployeeOfEachDepartment(WebRequest request){
+		// Sets the ETag header, or a 304 status when the client already holds this version
+		if (request.checkNotModified(resourceVersions.headcountsTag())) {
+			return null;
+		}
 		HashMap<String,Integer> hashMap = departmentServiceImpl.countEmployeeOfEachDepartment();
 		return new ResponseEntity<HashMap<String,Integer>>(hashMap,HttpStatus.OK);
 	}
 	
 	@GetMapping("/get")
-	public ResponseEntity<List<Department>> getAllDepartments() {
+	public ResponseEntity<List<Department>> getAllDepartments(WebRequest request) {
+		if (request.checkNotModified(resourceVersions.departmentsTag())) {
+			return null;
+		}
 		List<Department> dep = departmentServiceImpl.getAllDepartments();
 		return new ResponseEntity<List<Department>>(dep, HttpStatus.OK);
 	}
@@ -76,9 +90,24 @@ public class DepartmentController {
 	public ResponseEntity<Page<Department>> getDepartmentByPaging(@PathVariable int page,@PathVariable int pageSize){
 		return new ResponseEntity<Page<Department>>(departmentServiceImpl.getDepartmentInBatches(page, pageSize),HttpStatus.OK);
 	}
+	/**
+     * Get departments in id order using keyset (seek) pagination.
+     *
+     * @param pageSize the number of departments to return
+     * @param token the {@code nextToken} of the previous page; omit it to fetch the first page
+     * @return ResponseEntity containing the page of departments with its continuation token.
+     */
+	@GetMapping("/get-in-batches/seek")
+	public ResponseEntity<KeysetSlice<Department>> getDepartmentBySeek(@RequestParam int pageSize,
+																	   @RequestParam(required = false) String token){
+		return new ResponseEntity<KeysetSlice<Department>>(departmentServiceImpl.getDepartmentsAfter(token, pageSize),HttpStatus.OK);
+	}
 	
 	@GetMapping("/getById/{id}")
-	public ResponseEntity<Department> getDepartmentById(@PathVariable int id) {
+	public ResponseEntity<Department> getDepartmentById(@PathVariable int id, WebRequest request) {
+		if (request.checkNotModified(resourceVersions.departmentTag(id))) {
+			return null;
+		}
 		Department department = departmentServiceImpl.getDepartmentById(id);
 		return new ResponseEntity<Department>(department, HttpStatus.OK);
 	}
@@ -88,4 +117,32 @@ public class DepartmentController {
 		Department dept = departmentServiceImpl.updatDepartment(id, department);
 		return new ResponseEntity<Department>(dept, HttpStatus.OK);
 	}
+	/**
+     * Get count, sum, min, max, mean and approximate percentiles of the salaries in a department.
+     *
+     * @param id
+     * @return ResponseEntity containing the salary statistics of the department.
+     */
+	@GetMapping("/{id}/salary-stats")
+	public ResponseEntity<SalaryStats> getSalaryStats(@PathVariable int id) {
+		return new ResponseEntity<SalaryStats>(departmentServiceImpl.getSalaryStats(id), HttpStatus.OK);
+	}
+	/**
+     * Get the salary statistics of the whole organisation.
+     *
+     * @return ResponseEntity containing the salary statistics of every employee.
+     */
+	@GetMapping("/salary-stats")
+	public ResponseEntity<SalaryStats> getOrganisationSalaryStats() {
+		return new ResponseEntity<SalaryStats>(departmentServiceImpl.getOrganisationSalaryStats(), HttpStatus.OK);
+	}
+	/**
+     * Rebuild the salary statistics from the database.
+     *
+     * @return ResponseEntity containing the rebuilt salary statistics of the whole organisation.
+     */
+	@PostMapping("/salary-stats/rebuild")
+	public ResponseEntity<SalaryStats> rebuildSalaryStats() {
+		return new ResponseEntity<SalaryStats>(departmentServiceImpl.rebuildSalaryStats(), HttpStatus.OK);
+	}
 }
@@ -1,12 +1,22 @@
 package com.mindfire.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,9 +28,31 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mindfire.cache.CachedPerformance;
+import com.mindfire.cache.PerformanceCache;
+import com.mindfire.cache.ResourceVersions;
 import com.mindfire.entity.Employee;
+import com.mindfire.entity.PerformanceSubmission;
+import com.mindfire.exception.EmployeeNotFoundException;
+import com.mindfire.exception.PerformanceNotAddedException;
+import com.mindfire.model.BulkEmployeeResult;
+import com.mindfire.model.BulkTransferRequest;
+import com.mindfire.model.BulkTransferResult;
+import com.mindfire.model.EmployeeResponse;
+import com.mindfire.model.EmployeeSummary;
+import com.mindfire.model.EmployeeView;
+import com.mindfire.model.HireCohort;
+import com.mindfire.model.JoiningDateRange;
+import com.mindfire.model.KeysetSlice;
 import com.mindfire.model.PerformanceResponse;
+import com.mindfire.model.SalaryRevisionJob;
+import com.mindfire.model.SalaryRevisionScope;
 import com.mindfire.service.EmployeeService;
 
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
@@ -40,8 +72,16 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "http://localhost:5173")
 public class EmployeeController {
 	
+	public static final String CACHE_STATUS_HEADER = "X-Cache-Status";
+	
 	@Autowired
 	private EmployeeService employeeService;
+	@Autowired
+	private PerformanceCache performanceCache;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private ResourceVersions resourceVersions;
 	/**
      * EndPoint to add a new employee.
      * 
@@ -54,6 +94,21 @@ public class EmployeeController {
 		return new ResponseEntity<Employee>(emp, HttpStatus.CREATED);
 	}
 	/**
+     * EndPoint to add many employees in one request.
+     * Departments must already exist and are referenced by id. Each row is validated and
+     * reported on its own, so one bad row does not reject the whole request.
+     * 
+     * @param employees the employees to be added
+     * @return a ResponseEntity containing one result per row, with HTTP status CREATED when every
+     *         row was created and MULTI_STATUS otherwise
+     */
+	@PostMapping("/bulk")
+	public ResponseEntity<List<BulkEmployeeResult>> addEmployees(@RequestBody List<Employee> employees) {
+		List<BulkEmployeeResult> results = employeeService.addEmployees(employees);
+		boolean allCreated = results.stream().allMatch(result -> result.getStatus() == BulkEmployeeResult.Status.CREATED);
+		return new ResponseEntity<List<BulkEmployeeResult>>(results, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+	}
+	/**
      * EndPoint to update the salary of an existing employee.
      * 
      * @param id the ID of the employee whose salary will be updated
@@ -83,12 +138,54 @@ public class EmployeeController {
 	/**
      * EndPoint to retrieve all employees.
      * 
+     * @param view {@code full} for entities with their departments, {@code summary} for id, name, email and salary only
+     * @param request carries the client's If-None-Match; answered with 304 Not Modified while its ETag is current
      * @return a ResponseEntity containing a list of all employees and HTTP status OK
      */
 	@GetMapping("/get")
-	public ResponseEntity<List<Employee>> getAllEmployee() {
-		List<Employee> emp = employeeService.getAllEmployees();
-		return new ResponseEntity<List<Employee>>(emp, HttpStatus.OK);
+	public ResponseEntity<List<?>> getAllEmployee(@RequestParam(defaultValue = "full") String view, WebRequest request) {
+		EmployeeView employeeView = EmployeeView.of(view);
+		// Sets the ETag header, or a 304 status when the client already holds this version
+		if (request.checkNotModified(resourceVersions.employeesTag(employeeView.name()))) {
+			return null;
+		}
+		List<?> emp = employeeView == EmployeeView.SUMMARY
+				? employeeService.getAllEmployeeSummaries()
+				: employeeService.getAllEmployees();
+		return new ResponseEntity<List<?>>(emp, HttpStatus.OK);
+	}
+	/**
+     * EndPoint to export all employees as newline-delimited JSON.
+     * Rows are written to the response as they are read from the database cursor,
+     * so memory use stays flat no matter how large the employee table is.
+     * 
+     * @return a ResponseEntity streaming one employee JSON object per line and HTTP status OK
+     */
+	@GetMapping(value = "/stream", produces = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> streamAllEmployee() {
+		return ndjson(employeeService::streamAllEmployees);
+	}
+	/**
+	 * Writes the employees handed to the consumer by {@code source} as newline-delimited JSON.
+	 */
+	private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<EmployeeResponse>> source) {
+		ObjectWriter writer = objectMapper.writerFor(EmployeeResponse.class)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		StreamingResponseBody body = outputStream -> {
+			try {
+				source.accept(employee -> {
+					try {
+						writer.writeValue(outputStream, employee);
+						outputStream.write('\n');
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
 	}
 	/**
      * EndPoint to assign an employee to a department.
@@ -106,23 +203,82 @@ public class EmployeeController {
      * EndPoint to retrieve employees with a salary greater than a given amount.
      * 
      * @param salary the salary threshold to filter employees
+     * @param view {@code full} for entities with their departments, {@code summary} for id, name, email and salary only
      * @return a ResponseEntity containing a list of employees with salaries greater than the specified value and HTTP status OK
      */
 	@GetMapping("/getWithSalary/{salary}")
-	public ResponseEntity<List<Employee>> getAllEmployeeWithSalaryGreaterThan(@PathVariable long salary) {
-		List<Employee> emp = employeeService.getAllEmployeesBySalary(salary);
-		return new ResponseEntity<List<Employee>>(emp, HttpStatus.OK);
+	public ResponseEntity<List<?>> getAllEmployeeWithSalaryGreaterThan(@PathVariable long salary,
+																	 @RequestParam(defaultValue = "full") String view) {
+		List<?> emp = EmployeeView.of(view) == EmployeeView.SUMMARY
+				? employeeService.getEmployeeSummariesBySalary(salary)
+				: employeeService.getAllEmployeesBySalary(salary);
+		return new ResponseEntity<List<?>>(emp, HttpStatus.OK);
 	}
 	/**
      * EndPoint to retrieve employees who joined in the last 6 months.
      * 
+     * @param view {@code full} for entities with their departments, {@code summary} for id, name, email and salary only
      * @return a ResponseEntity containing a list of employees who joined within the last 6 months and HTTP status OK
      */
 	@GetMapping("/getWithDate")
-	public ResponseEntity<List<Employee>> getAllEmployeeJoiningInLast6Months() {
+	public ResponseEntity<List<?>> getAllEmployeeJoiningInLast6Months(@RequestParam(defaultValue = "full") String view) {
 		LocalDate date=LocalDate.now();
-		List<Employee> emp = employeeService.getAllEmployeeByJoiningDate(date);
-		return new ResponseEntity<List<Employee>>(emp, HttpStatus.OK);
+		List<?> emp = EmployeeView.of(view) == EmployeeView.SUMMARY
+				? employeeService.getEmployeeSummariesByJoiningDate(date)
+				: employeeService.getAllEmployeeByJoiningDate(date);
+		return new ResponseEntity<List<?>>(emp, HttpStatus.OK);
+	}
+	/**
+     * EndPoint to retrieve employees who joined within a date range, one keyset page at a time.
+     * 
+     * @param from the first joining date to include, as yyyy-MM-dd
+     * @param to the last joining date to include, as yyyy-MM-dd
+     * @param departmentId optional department the employees must belong to
+     * @param pageSize the number of employees per page
+     * @param token the nextToken of the previous page; omit for the first page
+     * @return a ResponseEntity containing the employees ordered by joining date and HTTP status OK
+     */
+	@GetMapping("/joined")
+	public ResponseEntity<KeysetSlice<EmployeeResponse>> getEmployeesJoinedBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+																				   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+																				   @RequestParam(required = false) Integer departmentId,
+																				   @RequestParam(defaultValue = "100") int pageSize,
+																				   @RequestParam(required = false) String token) {
+		JoiningDateRange range = new JoiningDateRange(from, to, departmentId);
+		return new ResponseEntity<KeysetSlice<EmployeeResponse>>(employeeService.getEmployeesJoinedBetween(range, token, pageSize), HttpStatus.OK);
+	}
+	/**
+     * EndPoint to export employees who joined within a date range as newline-delimited JSON,
+     * ordered by joining date.
+     * 
+     * @param from the first joining date to include, as yyyy-MM-dd
+     * @param to the last joining date to include, as yyyy-MM-dd
+     * @param departmentId optional department the employees must belong to
+     * @return a ResponseEntity streaming one employee JSON object per line and HTTP status OK
+     */
+	@GetMapping(value = "/joined/stream", produces = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> streamEmployeesJoinedBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+																			  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+																			  @RequestParam(required = false) Integer departmentId) {
+		JoiningDateRange range = new JoiningDateRange(from, to, departmentId);
+		return ndjson(consumer -> employeeService.streamEmployeesJoinedBetween(range, consumer));
+	}
+	/**
+     * EndPoint to count hires per month or quarter within a date range.
+     * 
+     * @param from the first joining date to include, as yyyy-MM-dd
+     * @param to the last joining date to include, as yyyy-MM-dd
+     * @param departmentId optional department the employees must belong to
+     * @param granularity {@code month} or {@code quarter}
+     * @return a ResponseEntity containing one cohort per period with hires, oldest first, and HTTP status OK
+     */
+	@GetMapping("/cohorts")
+	public ResponseEntity<List<HireCohort>> getHireCohorts(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+														   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+														   @RequestParam(required = false) Integer departmentId,
+														   @RequestParam(defaultValue = "month") String granularity) {
+		JoiningDateRange range = new JoiningDateRange(from, to, departmentId);
+		return new ResponseEntity<List<HireCohort>>(employeeService.getHireCohorts(range, granularity), HttpStatus.OK);
 	}
 	/**
      * EndPoint to retrieve the top 3 highest-paid employees.
@@ -135,14 +291,58 @@ public class EmployeeController {
 		return new ResponseEntity<List<Employee>>(emp, HttpStatus.OK);
 	}
 	/**
+     * EndPoint to retrieve the employees holding the n highest distinct salaries.
+     * 
+     * @param n the number of distinct salaries to include
+     * @param departmentId optional department to rank within; the whole company is ranked when omitted
+     * @return a ResponseEntity containing the employees ordered by salary, highest first, and HTTP status OK
+     */
+	@GetMapping("/top")
+	public ResponseEntity<List<Employee>> getTopPaidEmployees(@RequestParam(defaultValue = "3") int n,
+															  @RequestParam(required = false) Integer departmentId) {
+		List<Employee> emp = employeeService.getTopPaidEmployees(n, departmentId);
+		return new ResponseEntity<List<Employee>>(emp, HttpStatus.OK);
+	}
+	/**
+     * EndPoint to search employees by name or email as the user types.
+     * 
+     * @param q the start of a name, an email or any word of either, in any case
+     * @param fuzzy whether prefixes one typo away from {@code q} match too, ranked after exact matches
+     * @param limit the maximum number of employees to return
+     * @return a ResponseEntity containing the matching employees, best match first, and HTTP status OK
+     */
+	@GetMapping("/search")
+	public ResponseEntity<List<EmployeeSummary>> searchEmployees(@RequestParam String q,
+																 @RequestParam(defaultValue = "false") boolean fuzzy,
+																 @RequestParam(defaultValue = "10") int limit) {
+		return new ResponseEntity<List<EmployeeSummary>>(employeeService.searchEmployees(q, fuzzy, limit), HttpStatus.OK);
+	}
+	/**
      * EndPoint to retrieve employees in batches (pagination).
      * 
      * @param page the page number to fetch (default value is 0)
+     * @param view {@code full} for entities with their departments, {@code summary} for id, name, email and salary only
      * @return a ResponseEntity containing a list of employees for the requested page and HTTP status OK
      */
 	@GetMapping("/get-in-batches/{page}/{pageNo}")
-	public ResponseEntity<Page<Employee>> getEmployeeByPaging(@PathVariable int page,@PathVariable int pageNo){
-		return new ResponseEntity<Page<Employee>>(employeeService.getEmployeesInBatches(page, pageNo),HttpStatus.OK);
+	public ResponseEntity<Page<?>> getEmployeeByPaging(@PathVariable int page,@PathVariable int pageNo,
+													   @RequestParam(defaultValue = "full") String view){
+		Page<?> emp = EmployeeView.of(view) == EmployeeView.SUMMARY
+				? employeeService.getEmployeeSummariesInBatches(page, pageNo)
+				: employeeService.getEmployeesInBatches(page, pageNo);
+		return new ResponseEntity<Page<?>>(emp,HttpStatus.OK);
+	}
+	/**
+     * EndPoint to retrieve employees ordered by salary using keyset (seek) pagination.
+     * 
+     * @param pageSize the number of employees to return
+     * @param token the {@code nextToken} of the previous page; omit it to fetch the first page
+     * @return a ResponseEntity containing the page of employees with its continuation token and HTTP status OK
+     */
+	@GetMapping("/get-in-batches/seek")
+	public ResponseEntity<KeysetSlice<Employee>> getEmployeeBySeek(@RequestParam int pageSize,
+																   @RequestParam(required = false) String token){
+		return new ResponseEntity<KeysetSlice<Employee>>(employeeService.getEmployeesAfter(token, pageSize),HttpStatus.OK);
 	}
 	/**
      * EndPoint to transfer an employee from one department to another.
@@ -160,26 +360,68 @@ public class EmployeeController {
 		return new ResponseEntity<List<Employee>>(employeeService.getAllEmployees(),HttpStatus.OK);
 	}
 	/**
+     * EndPoint to transfer many employees from one department to another in one transaction.
+     * Only the ids are touched, so the response is a summary rather than the employee list.
+     * 
+     * @param request the employee ids and the source and target departments
+     * @return a ResponseEntity containing the moved, skipped and missing ids and HTTP status OK
+     */
+	@PostMapping("/transfer/bulk")
+	public ResponseEntity<BulkTransferResult> transferEmployees(@RequestBody BulkTransferRequest request){
+		return new ResponseEntity<BulkTransferResult>(employeeService.transferEmployees(request),HttpStatus.OK);
+	}
+	/**
      * EndPoint to update the salaries of multiple employees in bulk.
+     * The revision runs in the background in small chunks; poll the returned job for progress.
      * 
      * @param percentage the percentage by which the employees' salaries will be increased
-     * @return a ResponseEntity containing the updated list of employees and HTTP status OK
+     * @param departmentIds optional departments to limit the revision to
+     * @param minSalary optional inclusive lower bound of the salary band to revise
+     * @param maxSalary optional inclusive upper bound of the salary band to revise
+     * @return a ResponseEntity containing the revision job and HTTP status ACCEPTED
      */
 	@PutMapping("/update/bulk")
-	public ResponseEntity<List<Employee>> updateBulkSalaryOfEmployee(@RequestParam(value = "percentage") double percentage){
-		employeeService.updateBulkSalary(percentage);
-		return new ResponseEntity<List<Employee>>(employeeService.getAllEmployees(),HttpStatus.OK);
+	public ResponseEntity<SalaryRevisionJob> updateBulkSalaryOfEmployee(@RequestParam(value = "percentage") double percentage,
+																		@RequestParam(required = false) Set<Integer> departmentIds,
+																		@RequestParam(required = false) Double minSalary,
+																		@RequestParam(required = false) Double maxSalary){
+		SalaryRevisionScope scope = new SalaryRevisionScope(departmentIds, minSalary, maxSalary);
+		return new ResponseEntity<SalaryRevisionJob>(employeeService.startSalaryRevision(percentage, scope),HttpStatus.ACCEPTED);
+	}
+	/**
+     * EndPoint to check the progress of a bulk salary update.
+     * 
+     * @param jobId the id of the job returned when the update was started
+     * @return a ResponseEntity containing the revision job and HTTP status OK
+     */
+	@GetMapping("/update/bulk/{jobId}")
+	public ResponseEntity<SalaryRevisionJob> getBulkSalaryUpdate(@PathVariable String jobId){
+		return new ResponseEntity<SalaryRevisionJob>(employeeService.getSalaryRevision(jobId),HttpStatus.OK);
+	}
+	/**
+     * EndPoint to cancel a bulk salary update. Chunks already applied are kept.
+     * 
+     * @param jobId the id of the job returned when the update was started
+     * @return a ResponseEntity containing the revision job and HTTP status OK
+     */
+	@DeleteMapping("/update/bulk/{jobId}")
+	public ResponseEntity<SalaryRevisionJob> cancelBulkSalaryUpdate(@PathVariable String jobId){
+		return new ResponseEntity<SalaryRevisionJob>(employeeService.cancelSalaryRevision(jobId),HttpStatus.OK);
 	}
 	/**
      * Endpoint to get an employee by their ID.
      * 
      * @param id The ID of the employee to be fetched.
+     * @param request carries the client's If-None-Match; answered with 304 Not Modified while its ETag is current
      * @return A {@link ResponseEntity} containing the {@link Employee} data and an HTTP status code.
      *         If the employee is found, a status of {@code HttpStatus.OK} is returned.
      *         Otherwise, an appropriate error response is returned.
      */
 	@GetMapping("/getById/{id}")
-	public ResponseEntity<Employee> getEmployeeById(@PathVariable int id) {
+	public ResponseEntity<Employee> getEmployeeById(@PathVariable int id, WebRequest request) {
+		if (request.checkNotModified(resourceVersions.employeeTag(id))) {
+			return null;
+		}
 		Employee emp = employeeService.getEmployeeById(id);
 		return new ResponseEntity<Employee>(emp, HttpStatus.OK);
 	}
@@ -187,6 +429,8 @@ public class EmployeeController {
      * Endpoint to get performance data for an employee by their ID.
      * This method uses the {@link CircuitBreaker}, {@link Retry}, and {@link Bulkhead} patterns
      * to handle failures, retries, and concurrency issues during the request.
+     * The fallback sits on the outermost {@link Retry} only, so the circuit breaker and bulkhead
+     * see the real failures instead of an already substituted response.
      * 
      * @param id The ID of the employee whose performance records are to be fetched.
      * @return A {@link ResponseEntity} containing a list of {@link PerformanceResponse} objects
@@ -194,13 +438,28 @@ public class EmployeeController {
      *         In case of failure, the {@code performanceFallback} method will be invoked.
      */
 	@GetMapping("/getPerformanceById/{id}")
-	@CircuitBreaker(name = "performanceBreaker", fallbackMethod = "performanceFallback")
+	@CircuitBreaker(name = "performanceBreaker")
 	@Retry(name = "retryPerformance", fallbackMethod = "performanceFallback")
-	@Bulkhead(name = "performanceBulkHead", fallbackMethod = "performanceFallback")
+	@Bulkhead(name = "performanceBulkHead")
 	public ResponseEntity<List<PerformanceResponse>> getPerformanceById(@PathVariable int id) {
 		return new ResponseEntity<List<PerformanceResponse>>(employeeService.getPerformanceByEmployeeId(id), HttpStatus.OK);
 	}
 	
+	/**
+     * Endpoint to get several employees together with their performance data.
+     * Performance records are fetched concurrently within a per-request deadline; employees whose
+     * records timed out or failed are still returned, with {@code performanceStatus} set accordingly.
+     * 
+     * @param ids The IDs of the employees to fetch.
+     * @param departmentId The ID of a department whose members should be fetched instead of {@code ids}.
+     * @return A {@link ResponseEntity} containing a list of {@link EmployeeResponse} objects and HTTP status OK.
+     */
+	@GetMapping("/performance")
+	public ResponseEntity<List<EmployeeResponse>> getEmployeesWithPerformance(@RequestParam(required = false) List<Integer> ids,
+																			  @RequestParam(required = false) Integer departmentId) {
+		return new ResponseEntity<List<EmployeeResponse>>(employeeService.getEmployeesWithPerformance(ids, departmentId), HttpStatus.OK);
+	}
+	
 	 /**
      * Endpoint to add performance data for an employee.
      * 
@@ -214,23 +473,53 @@ public class EmployeeController {
 		return new ResponseEntity<PerformanceResponse>(employeeService.addPerformanceToEmployee(performanceResponse, id),HttpStatus.CREATED);
 	}
 	/**
+     * Endpoint to queue performance data for an employee without waiting for the performance service.
+     * The record is stored locally and delivered in the background.
+     * 
+     * @param performanceResponse The {@link PerformanceResponse} object containing the performance data to be added.
+     * @param id The ID of the employee to whom the performance data should be added.
+     * @return A {@link ResponseEntity} containing the queued {@link PerformanceSubmission}, whose id is the
+     *         tracking id, and an HTTP status code of {@code HttpStatus.ACCEPTED}.
+     */
+	@PostMapping("/addPerformance/{id}/async")
+	public ResponseEntity<PerformanceSubmission> submitPerformanceToEmployee(@RequestBody PerformanceResponse performanceResponse,@PathVariable int id){
+		return new ResponseEntity<PerformanceSubmission>(employeeService.submitPerformance(performanceResponse, id),HttpStatus.ACCEPTED);
+	}
+	/**
+     * Endpoint to check the delivery status of queued performance data.
+     * 
+     * @param trackingId The tracking id returned when the performance data was queued.
+     * @return A {@link ResponseEntity} containing the {@link PerformanceSubmission} and HTTP status OK.
+     */
+	@GetMapping("/performance-submissions/{trackingId}")
+	public ResponseEntity<PerformanceSubmission> getPerformanceSubmission(@PathVariable long trackingId){
+		return new ResponseEntity<PerformanceSubmission>(employeeService.getPerformanceSubmission(trackingId),HttpStatus.OK);
+	}
+	/**
      * Fallback method used in case of failure during the request to get performance data.
      * This method is triggered when the CircuitBreaker, Retry, or Bulkhead patterns detect a failure.
-     * It returns a default performance response with a rating of 0 and the error message.
+     * It returns the last successfully fetched performance records of the employee, marked with an
+     * {@code X-Cache-Status: STALE} header and their {@code Age}. Missing employees and employees
+     * without records are reported as usual.
      * 
      * @param id The ID of the employee for whom the performance data could not be fetched.
      * @param ex The exception that triggered the fallback (providing error details).
-     * @return A {@link ResponseEntity} containing a list of {@link PerformanceResponse} objects
-     *         with the default response (rating 0, feedback with error message) and HTTP status code {@code HttpStatus.OK}.
+     * @return A {@link ResponseEntity} containing the cached list of {@link PerformanceResponse} objects
+     *         and HTTP status code {@code HttpStatus.OK}, or an empty list and {@code HttpStatus.SERVICE_UNAVAILABLE}
+     *         when nothing is cached for the employee.
      */
 	public ResponseEntity<List<PerformanceResponse>> performanceFallback(int id,Exception ex) {
-		List<PerformanceResponse> list=new ArrayList<>();
-		PerformanceResponse response=PerformanceResponse.builder()
-										.rating(0)
-										.feedback(ex.getMessage())
-										.employeeId(id)
-										.build();
-		list.add(response);
-		return new ResponseEntity<List<PerformanceResponse>>(list, HttpStatus.OK);
+		if (ex instanceof EmployeeNotFoundException || ex instanceof PerformanceNotAddedException) {
+			throw (RuntimeException) ex;
+		}
+		Optional<CachedPerformance> cached = performanceCache.peek(id);
+		if (cached.isEmpty()) {
+			return new ResponseEntity<List<PerformanceResponse>>(new ArrayList<>(), HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		long age = Duration.between(cached.get().getFetchedAt(), Instant.now()).toSeconds();
+		return ResponseEntity.ok()
+				.header(CACHE_STATUS_HEADER, "STALE")
+				.header(HttpHeaders.AGE, String.valueOf(age))
+				.body(cached.get().getPerformances());
 	}
 }
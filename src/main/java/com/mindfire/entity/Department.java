@@ -1,7 +1,7 @@
 package com.mindfire.entity;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -9,24 +9,27 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 /**
  * Represents a department entity in the system.
  * Each department has a unique name, a location, and can have many employees assigned to it.
  * 
  * The Department entity is mapped to the database table "department", and has a many-to-many relationship
- * with the Employee entity via the "employee_department" join table.
+ * with the Employee entity via the "employee_department" join table, which is owned by the employee side.
  */
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -39,10 +42,11 @@ import lombok.NoArgsConstructor;
 public class Department {
 	/**
      * The unique identifier for the department.
-     * The ID is auto-generated.
+     * The ID is auto-generated from a pooled sequence.
      */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+	@SequenceGenerator(name = "department_seq", sequenceName = "department_seq", allocationSize = 50)
 	private int id;
 	/**
      * The name of the department.
@@ -55,15 +59,36 @@ public class Department {
      */
 	private String location;
 	/**
-     * A list of employees associated with this department.
-     * This represents a many-to-many relationship with the Employee entity.
+     * The employees associated with this department.
+     * This is the inverse side of the many-to-many relationship with the Employee entity;
+     * membership is changed through {@link Employee#getDepartments()}, so a large department
+     * is never loaded just to add or remove one member.
      */
-	@ManyToMany
-	@JoinTable(
-		      name = "employee_department", 
-		      joinColumns = @JoinColumn(name = "department_id"), 
-		      inverseJoinColumns = @JoinColumn(name = "employee_id")
-		    )
+	@ManyToMany(mappedBy = "departments")
 	@JsonIgnore
-	private List<Employee> employees=new ArrayList<>();
+	@ToString.Exclude
+	private Set<Employee> employees=new HashSet<>();
+	/**
+     * Two departments are equal when they have the same id. A transient department, whose id is still 0,
+     * is only equal to itself. {@code getId()} is used on the other side so a lazy proxy is
+     * compared without being initialized, and no field or collection is ever walked.
+     */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Department other)) {
+			return false;
+		}
+		return id != 0 && id == other.getId();
+	}
+	/**
+     * Hashes the id only. Ids are assigned from the sequence when the department is persisted, before it
+     * is added to any managed collection, so the hash of a managed or detached department never changes.
+     */
+	@Override
+	public int hashCode() {
+		return Integer.hashCode(id);
+	}
 }
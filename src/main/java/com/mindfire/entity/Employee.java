@@ -1,8 +1,8 @@
 package com.mindfire.entity;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -10,7 +10,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
@@ -18,15 +22,19 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 /**
  * Represents an employee entity in the system.
  * Each employee has a unique identifier, a name, email, salary, and a joining date.
  * Employees are associated with one or more departments in a many-to-many relationship.
  */
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -34,15 +42,27 @@ import lombok.NoArgsConstructor;
 		uniqueConstraints = @UniqueConstraint(
 				name = "email_unique",
 				columnNames = "email"
-				)
+				),
+		indexes = {
+				@Index(
+						name = "idx_employee_salary_id",
+						columnList = "salary, id"
+						),
+				@Index(
+						name = "idx_employee_joining_id",
+						columnList = "date_of_joining, id"
+						)
+				}
 		)
 public class Employee {
 	/**
      * The unique identifier for the employee.
-     * The ID is auto-generated.
+     * The ID is auto-generated from a pooled sequence, so Hibernate can assign ids
+     * without a round trip per row and batch the inserts.
      */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+	@SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
 	private int id;
 	/**
      * The name of the employee.
@@ -68,7 +88,40 @@ public class Employee {
      * The date when the employee joined the company.
      */
 	private LocalDate dateOfJoining;
-	
-	@ManyToMany(mappedBy = "employees" )
-	private List<Department> departments=new ArrayList<>();
+	/**
+     * The departments the employee belongs to.
+     * The employee owns the employee_department rows and the membership is a set, so adding or
+     * removing one department writes exactly one row and never loads the department's other members.
+     */
+	@ManyToMany
+	@JoinTable(
+		      name = "employee_department", 
+		      joinColumns = @JoinColumn(name = "employee_id"), 
+		      inverseJoinColumns = @JoinColumn(name = "department_id")
+		    )
+	@ToString.Exclude
+	private Set<Department> departments=new HashSet<>();
+	/**
+     * Two employees are equal when they have the same id. A transient employee, whose id is still 0,
+     * is only equal to itself. {@code getId()} is used on the other side so a lazy proxy is
+     * compared without being initialized, and no field or collection is ever walked.
+     */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Employee other)) {
+			return false;
+		}
+		return id != 0 && id == other.getId();
+	}
+	/**
+     * Hashes the id only. Ids are assigned from the sequence when the employee is persisted, before it
+     * is added to any managed collection, so the hash of a managed or detached employee never changes.
+     */
+	@Override
+	public int hashCode() {
+		return Integer.hashCode(id);
+	}
 }
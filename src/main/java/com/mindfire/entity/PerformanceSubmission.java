@@ -0,0 +1,80 @@
+package com.mindfire.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * A performance record accepted for an employee but not necessarily delivered yet.
+ * Submissions are stored locally first and then forwarded to PERFORMANCE-SERVICE in the
+ * background, so a slow or failing downstream service does not lose the write.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(
+		indexes = @Index(
+				name = "idx_submission_status_next_attempt",
+				columnList = "status, nextAttemptAt"
+				)
+		)
+public class PerformanceSubmission {
+	
+	public enum Status {
+		PENDING,
+		/**
+		 * Claimed by a dispatcher that is delivering it; reclaimed once {@code nextAttemptAt} passes.
+		 */
+		IN_FLIGHT,
+		SENT,
+		FAILED
+	}
+	/**
+     * The tracking id returned to the client.
+     */
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performance_submission_seq")
+	@SequenceGenerator(name = "performance_submission_seq", sequenceName = "performance_submission_seq", allocationSize = 50)
+	private long id;
+	
+	private int employeeId;
+	
+	private int rating;
+	
+	@Column(length = 2000)
+	private String feedback;
+	
+	@Enumerated(EnumType.STRING)
+	private Status status;
+	/**
+     * The number of delivery attempts started so far.
+     */
+	private int attempts;
+	/**
+     * The earliest time the next delivery attempt may be made; while in flight, when the claim expires.
+     */
+	private Instant nextAttemptAt;
+	
+	private Instant createdAt;
+	
+	@Column(length = 2000)
+	private String lastError;
+	/**
+     * The id assigned by PERFORMANCE-SERVICE once the record has been delivered.
+     */
+	private Integer performanceId;
+}
@@ -0,0 +1,28 @@
+package com.mindfire.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+import lombok.Getter;
+/**
+ * Published by the service layer whenever a department row is inserted, updated or deleted.
+ * Membership changes are reported through {@link EmployeeChangedEvent} for the affected employees.
+ * {@code memberIds} lists the employees that embed the department, when its name or location changed,
+ * so that views showing employees with their departments can refresh just those employees.
+ */
+@Getter
+public class DepartmentChangedEvent {
+	
+	private final int departmentId;
+	
+	private final Set<Integer> memberIds;
+	
+	public DepartmentChangedEvent(int departmentId) {
+		this(departmentId, Set.of());
+	}
+	
+	public DepartmentChangedEvent(int departmentId, Collection<Integer> memberIds) {
+		this.departmentId = departmentId;
+		this.memberIds = Set.copyOf(memberIds);
+	}
+}
@@ -0,0 +1,36 @@
+package com.mindfire.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+import lombok.Getter;
+/**
+ * Published by the service layer whenever employee rows change.
+ * Listeners use it to keep caches and in-memory read models in step with the database.
+ * {@code allEmployees} is set by statements that touch the whole table, such as the bulk salary update;
+ * otherwise {@code employeeIds} lists the rows that were inserted, updated or deleted.
+ */
+@Getter
+public class EmployeeChangedEvent {
+	
+	private final Set<Integer> employeeIds;
+	
+	private final boolean allEmployees;
+	
+	private EmployeeChangedEvent(Set<Integer> employeeIds, boolean allEmployees) {
+		this.employeeIds = employeeIds;
+		this.allEmployees = allEmployees;
+	}
+	
+	public static EmployeeChangedEvent of(int employeeId) {
+		return new EmployeeChangedEvent(Set.of(employeeId), false);
+	}
+	
+	public static EmployeeChangedEvent of(Collection<Integer> employeeIds) {
+		return new EmployeeChangedEvent(Set.copyOf(employeeIds), false);
+	}
+	
+	public static EmployeeChangedEvent all() {
+		return new EmployeeChangedEvent(Set.of(), true);
+	}
+}
@@ -0,0 +1,8 @@
+package com.mindfire.exception;
+
+public class PerformanceSubmissionNotFoundException extends RuntimeException {
+	public PerformanceSubmissionNotFoundException(String message) {
+        super(message);
+    }
+	
+}
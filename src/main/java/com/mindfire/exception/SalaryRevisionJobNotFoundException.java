@@ -0,0 +1,8 @@
+package com.mindfire.exception;
+
+public class SalaryRevisionJobNotFoundException extends RuntimeException {
+	public SalaryRevisionJobNotFoundException(String message) {
+        super(message);
+    }
+	
+}
@@ -0,0 +1,212 @@
+package com.mindfire.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.mindfire.model.EmployeeColumnRow;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * In-memory columns of employee salaries and joining dates, each sorted with the matching ids
+ * alongside, so the employees above a salary or joined after a date are found with a binary
+ * search followed by a walk over the matches.
+ *
+ * Changes do not rewrite the sorted columns. Changed employees are marked stale there and their
+ * current values kept in a small unsorted overlay that every query also scans; once the overlay
+ * reaches a sixteenth of the columns, it is merged back in a single pass.
+ *
+ * Off unless ems.employee.snapshot.enabled is set. The matches still have to be loaded by id,
+ * which costs more than a range scan over an indexed column, so the snapshot only pays off
+ * where the database would otherwise scan the whole table.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.employee.snapshot.enabled", havingValue = "true")
+public class EmployeeColumnSnapshot extends EmployeeReadModel {
+
+	private static final int MIN_OVERLAY_SIZE = 1024;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private Columns columns = Columns.EMPTY;
+
+	private final Set<Integer> stale = new HashSet<>();
+
+	private final Map<Integer, EmployeeColumnRow> overlay = new HashMap<>();
+	/**
+	 * Returns the ids of the employees earning more than {@code salary}, in no particular order.
+	 */
+	public List<Integer> idsWithSalaryAbove(double salary) {
+		return read(() -> {
+			List<Integer> ids = new ArrayList<>();
+			boolean filter = !stale.isEmpty();
+			for (int i = firstAbove(columns.salaries(), salary); i < columns.salaries().length; i++) {
+				int id = columns.salaryIds()[i];
+				if (!filter || !stale.contains(id)) {
+					ids.add(id);
+				}
+			}
+			for (EmployeeColumnRow row : overlay.values()) {
+				if (row.getSalary() > salary) {
+					ids.add(row.getId());
+				}
+			}
+			return ids;
+		});
+	}
+	/**
+	 * Returns the ids of the employees who joined after {@code date}, in no particular order.
+	 */
+	public List<Integer> idsJoinedAfter(LocalDate date) {
+		int day = (int) date.toEpochDay();
+		return read(() -> {
+			List<Integer> ids = new ArrayList<>();
+			boolean filter = !stale.isEmpty();
+			for (int i = firstAbove(columns.joiningDays(), day); i < columns.joiningDays().length; i++) {
+				int id = columns.joiningIds()[i];
+				if (!filter || !stale.contains(id)) {
+					ids.add(id);
+				}
+			}
+			for (EmployeeColumnRow row : overlay.values()) {
+				if (row.getDateOfJoining() != null && row.getDateOfJoining().toEpochDay() > day) {
+					ids.add(row.getId());
+				}
+			}
+			return ids;
+		});
+	}
+
+	@Override
+	protected Runnable loadAll() {
+		Columns loaded = Columns.EMPTY.merge(Set.of(), employeeRepository.findAllColumnRows());
+		return () -> {
+			columns = loaded;
+			stale.clear();
+			overlay.clear();
+		};
+	}
+
+	@Override
+	protected Runnable loadChanges(List<Integer> employeeIds) {
+		List<EmployeeColumnRow> rows = employeeRepository.findColumnRowsByIdIn(employeeIds);
+		// Loads are serialized, so the current state can be read here without the structure lock
+		if (stale.size() + employeeIds.size() < Math.max(MIN_OVERLAY_SIZE, columns.salaryIds().length / 16)) {
+			return () -> {
+				stale.addAll(employeeIds);
+				employeeIds.forEach(overlay::remove);
+				rows.forEach(row -> overlay.put(row.getId(), row));
+			};
+		}
+		Set<Integer> dropped = new HashSet<>(stale);
+		dropped.addAll(employeeIds);
+		Map<Integer, EmployeeColumnRow> added = new HashMap<>(overlay);
+		employeeIds.forEach(added::remove);
+		rows.forEach(row -> added.put(row.getId(), row));
+		Columns merged = columns.merge(dropped, added.values());
+		return () -> {
+			columns = merged;
+			stale.clear();
+			overlay.clear();
+		};
+	}
+
+	private static int firstAbove(double[] sorted, double key) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] > key) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	private static int firstAbove(int[] sorted, int key) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] > key) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+	/**
+	 * Salaries and joining dates, as epoch days, in ascending order with the employee ids alongside.
+	 * Employees without a joining date appear only in the salary column.
+	 */
+	private record Columns(int[] salaryIds, double[] salaries, int[] joiningIds, int[] joiningDays) {
+
+		static final Columns EMPTY = new Columns(new int[0], new double[0], new int[0], new int[0]);
+		/**
+		 * Returns new columns without the {@code dropped} ids and with the {@code added} rows,
+		 * in one pass over the current columns.
+		 */
+		Columns merge(Set<Integer> dropped, Collection<EmployeeColumnRow> added) {
+			List<EmployeeColumnRow> bySalary = added.stream()
+					.sorted(Comparator.comparingDouble(EmployeeColumnRow::getSalary))
+					.toList();
+			int[] newSalaryIds = new int[salaryIds.length + bySalary.size()];
+			double[] newSalaries = new double[newSalaryIds.length];
+			int size = 0;
+			int i = 0;
+			int j = 0;
+			while (i < salaryIds.length || j < bySalary.size()) {
+				if (i < salaryIds.length && dropped.contains(salaryIds[i])) {
+					i++;
+				} else if (j == bySalary.size() || i < salaryIds.length && salaries[i] <= bySalary.get(j).getSalary()) {
+					newSalaryIds[size] = salaryIds[i];
+					newSalaries[size++] = salaries[i++];
+				} else {
+					EmployeeColumnRow row = bySalary.get(j++);
+					newSalaryIds[size] = row.getId();
+					newSalaries[size++] = row.getSalary();
+				}
+			}
+			int salaryCount = size;
+
+			List<EmployeeColumnRow> byJoining = added.stream()
+					.filter(row -> row.getDateOfJoining() != null)
+					.sorted(Comparator.comparing(EmployeeColumnRow::getDateOfJoining))
+					.toList();
+			int[] newJoiningIds = new int[joiningIds.length + byJoining.size()];
+			int[] newJoiningDays = new int[newJoiningIds.length];
+			size = 0;
+			i = 0;
+			j = 0;
+			while (i < joiningIds.length || j < byJoining.size()) {
+				if (i < joiningIds.length && dropped.contains(joiningIds[i])) {
+					i++;
+				} else if (j == byJoining.size() || i < joiningIds.length && joiningDays[i] <= byJoining.get(j).getDateOfJoining().toEpochDay()) {
+					newJoiningIds[size] = joiningIds[i];
+					newJoiningDays[size++] = joiningDays[i++];
+				} else {
+					EmployeeColumnRow row = byJoining.get(j++);
+					newJoiningIds[size] = row.getId();
+					newJoiningDays[size++] = (int) row.getDateOfJoining().toEpochDay();
+				}
+			}
+			return new Columns(
+					Arrays.copyOf(newSalaryIds, salaryCount), Arrays.copyOf(newSalaries, salaryCount),
+					Arrays.copyOf(newJoiningIds, size), Arrays.copyOf(newJoiningDays, size));
+		}
+	}
+}
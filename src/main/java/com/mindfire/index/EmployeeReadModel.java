@@ -0,0 +1,138 @@
+package com.mindfire.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mindfire.event.EmployeeChangedEvent;
+import com.mindfire.model.DepartmentMembershipRow;
+/**
+ * Base class for in-memory read models derived from the employee tables.
+ * 
+ * A read model is built from the database once the application is ready and then kept current
+ * from {@link EmployeeChangedEvent}s after each commit: changed ids are reloaded and applied
+ * incrementally, while an all-employees change triggers a full rebuild. Database reads happen
+ * outside the structure lock, so readers are only blocked while a prepared change is applied.
+ * If loading fails the model reports itself as not ready and callers fall back to the database
+ * until the next successful rebuild. Loads are serialized with a {@link ReentrantLock} rather than a
+ * monitor so that a virtual thread blocked on JDBC inside one does not pin its carrier thread.
+ */
+public abstract class EmployeeReadModel {
+	
+	private static final int REFRESH_CHUNK_SIZE = 1000;
+	
+	private final Logger log = LoggerFactory.getLogger(getClass());
+	
+	private final ReentrantLock loadLock = new ReentrantLock();
+	
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	private volatile boolean ready;
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		rebuild();
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (event.isAllEmployees()) {
+			rebuild();
+		} else {
+			refresh(event.getEmployeeIds());
+		}
+	}
+	/**
+	 * Reloads the whole model from the database.
+	 */
+	public void rebuild() {
+		loadLock.lock();
+		try {
+			Runnable change = loadAll();
+			write(change);
+			ready = true;
+		} catch (RuntimeException e) {
+			ready = false;
+			log.warn("Could not build {}, falling back to the database", getClass().getSimpleName(), e);
+		} finally {
+			loadLock.unlock();
+		}
+	}
+	
+	public boolean isReady() {
+		return ready;
+	}
+	
+	private void refresh(Set<Integer> employeeIds) {
+		loadLock.lock();
+		try {
+			if (!ready) {
+				return;
+			}
+			List<Integer> ids = new ArrayList<>(employeeIds);
+			for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+				Runnable change = loadChanges(ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size())));
+				write(change);
+			}
+		} catch (RuntimeException e) {
+			ready = false;
+			log.warn("Could not refresh {}, falling back to the database", getClass().getSimpleName(), e);
+		} finally {
+			loadLock.unlock();
+		}
+	}
+	/**
+	 * Reads the model under the shared lock.
+	 */
+	protected <T> T read(Supplier<T> reader) {
+		lock.readLock().lock();
+		try {
+			return reader.get();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	private void write(Runnable change) {
+		lock.writeLock().lock();
+		try {
+			change.run();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	/**
+	 * Loads every row needed by the model and returns the step that replaces the current state.
+	 * Runs without the structure lock; the returned step runs under the exclusive lock.
+	 */
+	protected abstract Runnable loadAll();
+	/**
+	 * Loads the current state of the given employees, some of which may have been deleted,
+	 * and returns the step that applies it. Runs without the structure lock; the returned step
+	 * runs under the exclusive lock.
+	 */
+	protected abstract Runnable loadChanges(List<Integer> employeeIds);
+	/**
+	 * Groups membership rows into the set of department ids of each employee.
+	 */
+	protected static Map<Integer, Set<Integer>> groupByEmployee(Collection<DepartmentMembershipRow> memberships) {
+		Map<Integer, Set<Integer>> departments = new HashMap<>();
+		for (DepartmentMembershipRow membership : memberships) {
+			departments.computeIfAbsent(membership.getEmployeeId(), key -> new HashSet<>()).add(membership.getDepartmentId());
+		}
+		return departments;
+	}
+}
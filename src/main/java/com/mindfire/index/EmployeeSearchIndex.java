@@ -0,0 +1,422 @@
+package com.mindfire.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.mindfire.model.EmployeeSummary;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * In-memory prefix index over employee names and emails, with optional typo tolerance.
+ *
+ * Every employee is indexed under its lower-cased full name and email and under the words of
+ * each, so "smi", "john sm" and "jsmith@" all find John Smith. Terms are kept sorted by length
+ * and then alphabetically, with the ids of each term in one shared array, so the best matches
+ * of a prefix are found by one binary search per term length, stopping as soon as enough
+ * employees are collected. Shorter, i.e. closer, terms rank first, then terms alphabetically,
+ * then ids. A fuzzy search also accepts terms starting with any string one edit away from the
+ * query, ranked after the exact matches.
+ *
+ * As in {@link EmployeeColumnSnapshot}, changed employees are marked stale in the sorted terms
+ * and their current terms kept in a small overlay that every search also scans; the overlay is
+ * merged back once it holds {@value #MAX_OVERLAY_SIZE} employees. Changes that leave the name
+ * and email alone, such as salary revisions, are recognised by comparing both with the indexed
+ * values and skipped.
+ */
+@Component
+public class EmployeeSearchIndex extends EmployeeReadModel {
+
+	private static final int MAX_OVERLAY_SIZE = 2048;
+
+	private static final int MIN_FUZZY_LENGTH = 3;
+
+	private static final String FUZZY_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789 .@_-";
+
+	private static final Comparator<String> TERM_ORDER = Comparator.comparingInt(String::length)
+			.thenComparing(Comparator.naturalOrder());
+
+	private static final Comparator<Match> MATCH_ORDER = Comparator.comparing(Match::fuzzy)
+			.thenComparing(Match::term, TERM_ORDER)
+			.thenComparingInt(Match::id);
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private Terms terms = Terms.EMPTY;
+
+	private final Set<Integer> stale = new HashSet<>();
+
+	private final Map<Integer, String[]> overlay = new HashMap<>();
+
+	private Map<Integer, Indexed> indexed = new HashMap<>();
+
+	private record Posting(String term, int id) {
+	}
+
+	private record Match(int id, String term, boolean fuzzy) {
+	}
+	/**
+	 * The normalized name and email an employee is indexed under.
+	 */
+	private record Indexed(String name, String email) {
+
+		static Indexed of(EmployeeSummary row) {
+			return new Indexed(normalize(row.getName()), normalize(row.getEmail()));
+		}
+	}
+	/**
+	 * Returns the ids of the {@code limit} best matches for {@code query}, best first.
+	 */
+	public List<Integer> search(String query, boolean fuzzy, int limit) {
+		String prefix = normalize(query);
+		return read(() -> {
+			List<Match> matches = new ArrayList<>();
+			collect(prefix, false, limit, matches);
+			for (Map.Entry<Integer, String[]> doc : overlay.entrySet()) {
+				for (String term : doc.getValue()) {
+					if (term.startsWith(prefix)) {
+						matches.add(new Match(doc.getKey(), term, false));
+					}
+				}
+			}
+			// Fuzzy matches rank after exact ones, so they are only looked for when the exact ones fall short
+			if (fuzzy && prefix.length() >= MIN_FUZZY_LENGTH && matches.stream().map(Match::id).distinct().count() < limit) {
+				for (String variant : variants(prefix)) {
+					if (terms.hasPrefix(variant)) {
+						collect(variant, true, limit, matches);
+					}
+				}
+				for (Map.Entry<Integer, String[]> doc : overlay.entrySet()) {
+					for (String term : doc.getValue()) {
+						if (startsWithinOneEdit(term, prefix)) {
+							matches.add(new Match(doc.getKey(), term, true));
+						}
+					}
+				}
+			}
+			matches.sort(MATCH_ORDER);
+			Set<Integer> ids = new LinkedHashSet<>();
+			for (Match match : matches) {
+				if (ids.size() == limit) {
+					break;
+				}
+				ids.add(match.id());
+			}
+			return new ArrayList<>(ids);
+		});
+	}
+
+	private void collect(String prefix, boolean fuzzy, int limit, List<Match> matches) {
+		Set<Integer> found = new HashSet<>();
+		boolean filter = !stale.isEmpty();
+		for (int length = prefix.length(); length < terms.lengthStarts().length - 1; length++) {
+			int end = terms.lengthStarts()[length + 1];
+			for (int i = terms.lowerBound(prefix, length); i < end && terms.terms()[i].startsWith(prefix); i++) {
+				for (int k = terms.offsets()[i]; k < terms.offsets()[i + 1]; k++) {
+					int id = terms.ids()[k];
+					if (filter && stale.contains(id)) {
+						continue;
+					}
+					matches.add(new Match(id, terms.terms()[i], fuzzy));
+					// Terms are visited best first, so the first matches are the best ones
+					if (found.add(id) && found.size() == limit) {
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	protected Runnable loadAll() {
+		List<EmployeeSummary> rows = employeeRepository.findAllSummaries();
+		List<Posting> postings = new ArrayList<>();
+		Map<Integer, Indexed> loadedIndexed = new HashMap<>();
+		for (EmployeeSummary row : rows) {
+			for (String term : termsOf(row)) {
+				postings.add(new Posting(term, row.getId()));
+			}
+			loadedIndexed.put(row.getId(), Indexed.of(row));
+		}
+		Terms loaded = Terms.EMPTY.merge(Set.of(), postings);
+		return () -> {
+			terms = loaded;
+			indexed = loadedIndexed;
+			stale.clear();
+			overlay.clear();
+		};
+	}
+
+	@Override
+	protected Runnable loadChanges(List<Integer> employeeIds) {
+		Map<Integer, EmployeeSummary> rows = new HashMap<>();
+		employeeRepository.findSummariesByIdIn(employeeIds).forEach(row -> rows.put(row.getId(), row));
+		// Loads are serialized, so the current state can be read here without the structure lock
+		Map<Integer, String[]> changed = new HashMap<>();
+		Map<Integer, Indexed> changedIndexed = new HashMap<>();
+		for (Integer id : employeeIds) {
+			EmployeeSummary row = rows.get(id);
+			Indexed current = row == null ? null : Indexed.of(row);
+			if (Objects.equals(indexed.get(id), current)) {
+				continue;
+			}
+			changed.put(id, row == null ? null : termsOf(row).toArray(String[]::new));
+			changedIndexed.put(id, current);
+		}
+		if (changed.isEmpty()) {
+			return () -> {
+			};
+		}
+		if (stale.size() + changed.size() < MAX_OVERLAY_SIZE) {
+			return () -> {
+				changed.forEach((id, docTerms) -> {
+					stale.add(id);
+					if (docTerms == null) {
+						overlay.remove(id);
+					} else {
+						overlay.put(id, docTerms);
+					}
+				});
+				applyIndexed(changedIndexed);
+			};
+		}
+		Set<Integer> dropped = new HashSet<>(stale);
+		dropped.addAll(changed.keySet());
+		Map<Integer, String[]> added = new HashMap<>(overlay);
+		changed.forEach((id, docTerms) -> {
+			if (docTerms == null) {
+				added.remove(id);
+			} else {
+				added.put(id, docTerms);
+			}
+		});
+		List<Posting> postings = new ArrayList<>();
+		added.forEach((id, docTerms) -> {
+			for (String term : docTerms) {
+				postings.add(new Posting(term, id));
+			}
+		});
+		Terms merged = terms.merge(dropped, postings);
+		return () -> {
+			terms = merged;
+			stale.clear();
+			overlay.clear();
+			applyIndexed(changedIndexed);
+		};
+	}
+
+	private void applyIndexed(Map<Integer, Indexed> changedIndexed) {
+		changedIndexed.forEach((id, current) -> {
+			if (current == null) {
+				indexed.remove(id);
+			} else {
+				indexed.put(id, current);
+			}
+		});
+	}
+	/**
+	 * Lower-cases a name, email or query and collapses its whitespace.
+	 */
+	public static String normalize(String value) {
+		return value == null ? "" : value.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+	}
+
+	private static Set<String> termsOf(EmployeeSummary row) {
+		Set<String> docTerms = new LinkedHashSet<>();
+		String name = normalize(row.getName());
+		if (!name.isEmpty()) {
+			docTerms.add(name);
+			addWords(name, docTerms);
+		}
+		String email = normalize(row.getEmail());
+		if (!email.isEmpty()) {
+			docTerms.add(email);
+			int at = email.indexOf('@');
+			String local = at < 0 ? email : email.substring(0, at);
+			// A local part without separators is already covered by the full email
+			if (local.split("[^\\p{L}\\p{N}]+").length > 1) {
+				addWords(local, docTerms);
+			}
+		}
+		return docTerms;
+	}
+
+	private static void addWords(String value, Set<String> docTerms) {
+		for (String word : value.split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) {
+				docTerms.add(word);
+			}
+		}
+	}
+
+	/**
+	 * Returns the strings one deletion, transposition, substitution or insertion away from {@code value}.
+	 */
+	private static Set<String> variants(String value) {
+		Set<String> variants = new LinkedHashSet<>();
+		for (int i = 0; i < value.length(); i++) {
+			variants.add(value.substring(0, i) + value.substring(i + 1));
+			if (i + 1 < value.length()) {
+				variants.add(value.substring(0, i) + value.charAt(i + 1) + value.charAt(i) + value.substring(i + 2));
+			}
+		}
+		for (int i = 0; i <= value.length(); i++) {
+			for (int c = 0; c < FUZZY_ALPHABET.length(); c++) {
+				char letter = FUZZY_ALPHABET.charAt(c);
+				if (i < value.length()) {
+					variants.add(value.substring(0, i) + letter + value.substring(i + 1));
+				}
+				variants.add(value.substring(0, i) + letter + value.substring(i));
+			}
+		}
+		variants.remove(value);
+		variants.remove("");
+		return variants;
+	}
+	/**
+	 * Whether some prefix of {@code term} is at most one edit away from {@code query}.
+	 */
+	private static boolean startsWithinOneEdit(String term, String query) {
+		for (int length = query.length() - 1; length <= query.length() + 1; length++) {
+			if (length > 0 && length <= term.length() && withinOneEdit(term.substring(0, length), query)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean withinOneEdit(String a, String b) {
+		if (Math.abs(a.length() - b.length()) > 1) {
+			return false;
+		}
+		int i = 0;
+		while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+			i++;
+		}
+		if (a.length() == b.length()) {
+			return a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)
+					|| i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+							&& a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+		}
+		String longer = a.length() > b.length() ? a : b;
+		String shorter = a.length() > b.length() ? b : a;
+		return longer.regionMatches(i + 1, shorter, i, shorter.length() - i);
+	}
+	/**
+	 * Distinct terms sorted by length and then alphabetically, the ids of term {@code i} being
+	 * {@code ids[offsets[i]]} up to {@code ids[offsets[i + 1]]} in ascending order. Terms of length
+	 * {@code n} start at {@code lengthStarts[n]}. The lexicon holds the same terms in plain
+	 * alphabetical order, to tell whether any term starts with a given prefix.
+	 */
+	private record Terms(String[] terms, int[] offsets, int[] ids, int[] lengthStarts, String[] lexicon) {
+
+		static final Terms EMPTY = new Terms(new String[0], new int[1], new int[0], new int[1], new String[0]);
+
+		int lowerBound(String prefix, int length) {
+			int low = lengthStarts[length];
+			int high = lengthStarts[length + 1];
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (terms[mid].compareTo(prefix) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		boolean hasPrefix(String prefix) {
+			int index = Arrays.binarySearch(lexicon, prefix);
+			int insertion = index < 0 ? -index - 1 : index;
+			return insertion < lexicon.length && lexicon[insertion].startsWith(prefix);
+		}
+		/**
+		 * Returns new terms without the {@code dropped} ids and with the {@code added} postings,
+		 * in one pass over the current terms.
+		 */
+		Terms merge(Set<Integer> dropped, Collection<Posting> added) {
+			List<Posting> sorted = added.stream()
+					.sorted(Comparator.comparing(Posting::term, TERM_ORDER).thenComparingInt(Posting::id))
+					.toList();
+			String[] newTerms = new String[terms.length + sorted.size()];
+			int[] newOffsets = new int[newTerms.length + 1];
+			int[] newIds = new int[ids.length + sorted.size()];
+			List<String> createdTerms = new ArrayList<>();
+			Set<String> removedTerms = new HashSet<>();
+			int termCount = 0;
+			int idCount = 0;
+			int i = 0;
+			int j = 0;
+			while (i < terms.length || j < sorted.size()) {
+				int order = i == terms.length ? 1 : j == sorted.size() ? -1 : TERM_ORDER.compare(terms[i], sorted.get(j).term());
+				String term = order <= 0 ? terms[i] : sorted.get(j).term();
+				int start = idCount;
+				if (order <= 0) {
+					for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+						if (!dropped.contains(ids[k])) {
+							newIds[idCount++] = ids[k];
+						}
+					}
+					i++;
+				}
+				while (j < sorted.size() && sorted.get(j).term().equals(term)) {
+					newIds[idCount++] = sorted.get(j++).id();
+				}
+				if (order == 0) {
+					Arrays.sort(newIds, start, idCount);
+				}
+				if (idCount > start) {
+					newTerms[termCount] = term;
+					newOffsets[++termCount] = idCount;
+					if (order > 0) {
+						createdTerms.add(term);
+					}
+				} else {
+					removedTerms.add(term);
+				}
+			}
+			newTerms = Arrays.copyOf(newTerms, termCount);
+			int maxLength = termCount == 0 ? 0 : newTerms[termCount - 1].length();
+			int[] newLengthStarts = new int[maxLength + 2];
+			for (int length = 0, index = 0; length <= maxLength + 1; length++) {
+				while (index < termCount && newTerms[index].length() < length) {
+					index++;
+				}
+				newLengthStarts[length] = index;
+			}
+			return new Terms(newTerms, Arrays.copyOf(newOffsets, termCount + 1), Arrays.copyOf(newIds, idCount),
+					newLengthStarts, mergeLexicon(removedTerms, createdTerms));
+		}
+
+		private String[] mergeLexicon(Set<String> removedTerms, List<String> createdTerms) {
+			createdTerms.sort(Comparator.naturalOrder());
+			String[] merged = new String[lexicon.length + createdTerms.size()];
+			int size = 0;
+			int i = 0;
+			int j = 0;
+			while (i < lexicon.length || j < createdTerms.size()) {
+				if (i < lexicon.length && removedTerms.contains(lexicon[i])) {
+					i++;
+				} else if (j == createdTerms.size() || i < lexicon.length && lexicon[i].compareTo(createdTerms.get(j)) <= 0) {
+					merged[size++] = lexicon[i++];
+				} else {
+					merged[size++] = createdTerms.get(j++);
+				}
+			}
+			return Arrays.copyOf(merged, size);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.mindfire.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.mindfire.index.SalaryPlacements.Placement;
+import com.mindfire.model.SalaryStats;
+/**
+ * In-memory salary sketches, one for the whole organisation and one per department.
+ * {@link SalaryPlacements} hands over the salary and departments each changed employee leaves
+ * and takes, so statistics stay current without rescanning any department. The sketches only
+ * hold buckets; exact min and max are read from the rankings of {@link SalaryLeaderboard}, which
+ * is kept current by the same changes.
+ */
+@Component
+public class SalaryDistribution implements SalaryPlacements.View {
+	
+	@Autowired
+	private SalaryPlacements salaryPlacements;
+	@Autowired
+	private SalaryLeaderboard salaryLeaderboard;
+	
+	private SalarySketch overall = new SalarySketch();
+	
+	private Map<Integer, SalarySketch> byDepartment = new HashMap<>();
+	/**
+	 * Returns the salary statistics of the whole organisation.
+	 */
+	public SalaryStats organisationStats() {
+		return salaryPlacements.read(() -> stats(overall, null));
+	}
+	/**
+	 * Returns the salary statistics of one department; all zero when it has no employees.
+	 */
+	public SalaryStats departmentStats(int departmentId) {
+		return salaryPlacements.read(() -> stats(byDepartment.get(departmentId), departmentId));
+	}
+	
+	public boolean isReady() {
+		return salaryPlacements.isReady();
+	}
+	/**
+	 * Reloads every salary from the database, along with the other views of {@link SalaryPlacements}.
+	 */
+	public void rebuild() {
+		salaryPlacements.rebuild();
+	}
+
+	private SalaryStats stats(SalarySketch sketch, Integer departmentId) {
+		if (sketch == null || sketch.isEmpty()) {
+			return new SalaryStats();
+		}
+		SalaryStats stats = sketch.toStats();
+		NavigableMap<Double, Set<Integer>> ranking = salaryLeaderboard.ranking(departmentId);
+		stats.setMin(ranking.lastKey());
+		stats.setMax(ranking.firstKey());
+		return stats;
+	}
+
+	@Override
+	public Runnable build(Map<Integer, Placement> placements) {
+		// Built outside the structure lock, so readers see the old sketches until the swap
+		SalarySketch builtOverall = new SalarySketch();
+		Map<Integer, SalarySketch> builtByDepartment = new HashMap<>();
+		for (Placement placement : placements.values()) {
+			builtOverall.add(placement.salary());
+			for (Integer departmentId : placement.departmentIds()) {
+				builtByDepartment.computeIfAbsent(departmentId, key -> new SalarySketch()).add(placement.salary());
+			}
+		}
+		return () -> {
+			overall = builtOverall;
+			byDepartment = builtByDepartment;
+		};
+	}
+
+	@Override
+	public void place(int employeeId, Placement placement) {
+		overall.add(placement.salary());
+		for (Integer departmentId : placement.departmentIds()) {
+			byDepartment.computeIfAbsent(departmentId, key -> new SalarySketch()).add(placement.salary());
+		}
+	}
+
+	@Override
+	public void remove(int employeeId, Placement placement) {
+		overall.remove(placement.salary());
+		for (Integer departmentId : placement.departmentIds()) {
+			SalarySketch sketch = byDepartment.get(departmentId);
+			sketch.remove(placement.salary());
+			if (sketch.isEmpty()) {
+				byDepartment.remove(departmentId);
+			}
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.mindfire.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.mindfire.index.SalaryPlacements.Placement;
+/**
+ * In-memory ranking of distinct salaries, overall and per department.
+ * Each ranking maps a salary, highest first, to the ids of the employees earning it,
+ * so the employees holding the top K distinct salaries are found by walking K entries.
+ * Kept current by {@link SalaryPlacements}.
+ */
+@Component
+public class SalaryLeaderboard implements SalaryPlacements.View {
+	
+	@Autowired
+	private SalaryPlacements salaryPlacements;
+	
+	private TreeMap<Double, Set<Integer>> overall = new TreeMap<>(Comparator.reverseOrder());
+	
+	private Map<Integer, TreeMap<Double, Set<Integer>>> byDepartment = new HashMap<>();
+	/**
+	 * Returns the ids of the employees whose salary is one of the {@code n} highest distinct salaries,
+	 * either across the company or, when {@code departmentId} is given, within that department.
+	 */
+	public List<Integer> topEmployeeIds(int n, Integer departmentId) {
+		return salaryPlacements.read(() -> {
+			NavigableMap<Double, Set<Integer>> ranking = ranking(departmentId);
+			List<Integer> ids = new ArrayList<>();
+			if (ranking == null) {
+				return ids;
+			}
+			int distinct = 0;
+			for (Set<Integer> employeeIds : ranking.values()) {
+				if (distinct++ == n) {
+					break;
+				}
+				ids.addAll(employeeIds);
+			}
+			return ids;
+		});
+	}
+	
+	public boolean isReady() {
+		return salaryPlacements.isReady();
+	}
+	/**
+	 * Returns the distinct salaries of the company, or of one department, highest first; null when
+	 * the department has no employees. Callers must hold the read lock of {@link SalaryPlacements}.
+	 */
+	NavigableMap<Double, Set<Integer>> ranking(Integer departmentId) {
+		return departmentId == null ? overall : byDepartment.get(departmentId);
+	}
+
+	@Override
+	public Runnable build(Map<Integer, Placement> placements) {
+		TreeMap<Double, Set<Integer>> builtOverall = new TreeMap<>(Comparator.reverseOrder());
+		Map<Integer, TreeMap<Double, Set<Integer>>> builtByDepartment = new HashMap<>();
+		placements.forEach((employeeId, placement) -> place(builtOverall, builtByDepartment, employeeId, placement));
+		return () -> {
+			overall = builtOverall;
+			byDepartment = builtByDepartment;
+		};
+	}
+
+	@Override
+	public void place(int employeeId, Placement placement) {
+		place(overall, byDepartment, employeeId, placement);
+	}
+
+	@Override
+	public void remove(int employeeId, Placement placement) {
+		remove(overall, placement.salary(), employeeId);
+		for (Integer departmentId : placement.departmentIds()) {
+			TreeMap<Double, Set<Integer>> ranking = byDepartment.get(departmentId);
+			remove(ranking, placement.salary(), employeeId);
+			if (ranking.isEmpty()) {
+				byDepartment.remove(departmentId);
+			}
+		}
+	}
+	
+	private static void place(TreeMap<Double, Set<Integer>> overall, Map<Integer, TreeMap<Double, Set<Integer>>> byDepartment,
+			int employeeId, Placement placement) {
+		add(overall, placement.salary(), employeeId);
+		for (Integer departmentId : placement.departmentIds()) {
+			add(byDepartment.computeIfAbsent(departmentId, key -> new TreeMap<>(Comparator.reverseOrder())), placement.salary(), employeeId);
+		}
+	}
+	
+	private static void add(TreeMap<Double, Set<Integer>> ranking, double salary, int employeeId) {
+		ranking.computeIfAbsent(salary, key -> new HashSet<>()).add(employeeId);
+	}
+	
+	private static void remove(TreeMap<Double, Set<Integer>> ranking, double salary, int employeeId) {
+		Set<Integer> employeeIds = ranking.get(salary);
+		employeeIds.remove(employeeId);
+		if (employeeIds.isEmpty()) {
+			ranking.remove(salary);
+		}
+	}
+}
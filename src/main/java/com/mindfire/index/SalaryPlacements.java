@@ -0,0 +1,82 @@
+package com.mindfire.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.mindfire.model.EmployeeSalaryRow;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * The salary and departments of every employee, loaded once per change and handed to each
+ * {@link View} derived from them, such as {@link SalaryLeaderboard} and {@link SalaryDistribution}.
+ * Views are told the placement an employee leaves along with the one it takes, so they keep no
+ * copy of their own. They are read under this model's lock and share its readiness.
+ */
+@Component
+public class SalaryPlacements extends EmployeeReadModel {
+	
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private ObjectProvider<View> views;
+	
+	private Map<Integer, Placement> placements = new HashMap<>();
+	
+	record Placement(double salary, Set<Integer> departmentIds) {
+	}
+	/**
+	 * A structure derived from the placements; {@link #place} and {@link #remove} run under the
+	 * exclusive lock.
+	 */
+	interface View {
+		/**
+		 * Builds the view from every placement without the structure lock and returns the step
+		 * that swaps it in.
+		 */
+		Runnable build(Map<Integer, Placement> placements);
+		
+		void place(int employeeId, Placement placement);
+		
+		void remove(int employeeId, Placement placement);
+	}
+
+	@Override
+	protected Runnable loadAll() {
+		List<EmployeeSalaryRow> salaries = employeeRepository.findAllSalaryRows();
+		Map<Integer, Set<Integer>> departments = groupByEmployee(employeeRepository.findAllMembershipRows());
+		Map<Integer, Placement> loaded = new HashMap<>();
+		for (EmployeeSalaryRow row : salaries) {
+			loaded.put(row.getId(), new Placement(row.getSalary(), departments.getOrDefault(row.getId(), Set.of())));
+		}
+		List<Runnable> swaps = views.orderedStream().map(view -> view.build(loaded)).toList();
+		return () -> {
+			placements = loaded;
+			swaps.forEach(Runnable::run);
+		};
+	}
+
+	@Override
+	protected Runnable loadChanges(List<Integer> employeeIds) {
+		List<EmployeeSalaryRow> salaries = employeeRepository.findSalaryRowsByIdIn(employeeIds);
+		Map<Integer, Set<Integer>> departments = groupByEmployee(employeeRepository.findMembershipRowsByEmployeeIdIn(employeeIds));
+		List<View> targets = views.orderedStream().toList();
+		return () -> {
+			for (Integer employeeId : employeeIds) {
+				Placement previous = placements.remove(employeeId);
+				if (previous != null) {
+					targets.forEach(view -> view.remove(employeeId, previous));
+				}
+			}
+			for (EmployeeSalaryRow row : salaries) {
+				Placement placement = new Placement(row.getSalary(), departments.getOrDefault(row.getId(), Set.of()));
+				placements.put(row.getId(), placement);
+				targets.forEach(view -> view.place(row.getId(), placement));
+			}
+		};
+	}
+}
@@ -0,0 +1,118 @@
+package com.mindfire.index;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.mindfire.model.SalaryStats;
+/**
+ * Mergeable summary of a multiset of salaries that supports removal as well as insertion.
+ *
+ * Salaries are counted in logarithmic buckets, each covering the values within
+ * {@value #RELATIVE_ACCURACY} relative error of its midpoint, so any quantile is answered
+ * within that error from at most a few hundred buckets whatever the number of salaries.
+ * Bucket boundaries depend only on the accuracy, so sketches merge by adding counts and
+ * a salary is removed by decrementing the bucket it was added to. Count and sum are kept
+ * exactly, the sum in cents. Salaries of 0 or below share a single bucket reported as 0.
+ * Min and max come from the lowest and highest buckets, so they are within the accuracy too;
+ * callers that hold the salaries themselves can replace them with the exact values.
+ */
+public class SalarySketch {
+	
+	public static final double RELATIVE_ACCURACY = 0.01;
+	
+	private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+	
+	private static final double LOG_GAMMA = Math.log(GAMMA);
+	
+	private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+	
+	private long zeroCount;
+	
+	private long count;
+	
+	private long sumCents;
+	
+	public void add(double salary) {
+		update(salary, 1);
+	}
+	
+	public void remove(double salary) {
+		update(salary, -1);
+	}
+	/**
+	 * Adds every salary counted in {@code other} to this sketch.
+	 */
+	public void merge(SalarySketch other) {
+		for (Map.Entry<Integer, Long> bucket : other.buckets.entrySet()) {
+			buckets.merge(bucket.getKey(), bucket.getValue(), SalarySketch::sum);
+		}
+		zeroCount += other.zeroCount;
+		count += other.count;
+		sumCents += other.sumCents;
+	}
+	
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	/**
+	 * Returns the salary at the given quantile, between 0 and 1, within the relative accuracy.
+	 */
+	public double quantile(double quantile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = (long) (quantile * (count - 1));
+		long seen = zeroCount;
+		if (rank < seen) {
+			return 0;
+		}
+		for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+			seen += bucket.getValue();
+			if (rank < seen) {
+				return value(bucket.getKey());
+			}
+		}
+		return value(buckets.lastKey());
+	}
+	
+	public SalaryStats toStats() {
+		if (count == 0) {
+			return new SalaryStats();
+		}
+		double sum = sumCents / 100.0;
+		return SalaryStats.builder()
+				.count(count)
+				.sum(sum)
+				.min(zeroCount > 0 ? 0 : value(buckets.firstKey()))
+				.max(buckets.isEmpty() ? 0 : value(buckets.lastKey()))
+				.mean(sum / count)
+				.p50(quantile(0.50))
+				.p90(quantile(0.90))
+				.p99(quantile(0.99))
+				.build();
+	}
+	
+	private void update(double salary, long delta) {
+		if (salary > 0) {
+			buckets.merge(index(salary), delta, SalarySketch::sum);
+		} else {
+			zeroCount += delta;
+		}
+		count += delta;
+		sumCents += delta * Math.round(salary * 100);
+	}
+	
+	private static Long sum(Long current, Long delta) {
+		long updated = current + delta;
+		// A null result removes the bucket, so emptied buckets do not accumulate
+		return updated == 0 ? null : updated;
+	}
+	
+	private static int index(double salary) {
+		return (int) Math.ceil(Math.log(salary) / LOG_GAMMA);
+	}
+	
+	private static double value(int index) {
+		return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+	}
+}
@@ -0,0 +1,40 @@
+package com.mindfire.metrics;
+/**
+ * Statements Hibernate has executed on the current thread, and the time spent executing them,
+ * since the last {@link #reset()}. Filled in by {@link JdbcActivityListener}; reset and read around
+ * each HTTP request by {@link RequestJdbcMetricsFilter}. A JDBC batch counts as one statement.
+ */
+public final class JdbcActivity {
+
+	private static final ThreadLocal<JdbcActivity> CURRENT = ThreadLocal.withInitial(JdbcActivity::new);
+
+	private long statements;
+
+	private long nanos;
+
+	private JdbcActivity() {
+	}
+
+	public static JdbcActivity current() {
+		return CURRENT.get();
+	}
+
+	public static void reset() {
+		JdbcActivity activity = CURRENT.get();
+		activity.statements = 0;
+		activity.nanos = 0;
+	}
+
+	void record(long elapsedNanos) {
+		statements++;
+		nanos += elapsedNanos;
+	}
+
+	public long getStatements() {
+		return statements;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+}
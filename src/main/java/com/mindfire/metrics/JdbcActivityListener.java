@@ -0,0 +1,34 @@
+package com.mindfire.metrics;
+
+import org.hibernate.SessionEventListener;
+/**
+ * Times every statement and batch a Hibernate session executes and adds it to the calling
+ * thread's {@link JdbcActivity}. Hibernate creates one listener per session, and a session is
+ * only used by one thread at a time, so the start time needs no synchronisation.
+ */
+public class JdbcActivityListener implements SessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private transient long startNanos;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		startNanos = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		JdbcActivity.current().record(System.nanoTime() - startNanos);
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		startNanos = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		JdbcActivity.current().record(System.nanoTime() - startNanos);
+	}
+}
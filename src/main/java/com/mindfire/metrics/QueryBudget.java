@@ -0,0 +1,22 @@
+package com.mindfire.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+/**
+ * The most SQL statements a method may execute, including those flushed when its transaction
+ * commits. A budget is meant to hold however much data the method touches, so going over it
+ * usually means a lazy association is being loaded row by row.
+ *
+ * Enforced by {@link QueryBudgetAspect}: with ems.query-budget.fail-on-exceed set, as in the tests,
+ * the call fails; otherwise a sampled warning listing the statements is logged.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+	int value();
+}
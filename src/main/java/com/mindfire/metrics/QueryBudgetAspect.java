@@ -0,0 +1,133 @@
+package com.mindfire.metrics;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mindfire.exception.QueryBudgetExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+/**
+ * Checks methods annotated with {@link QueryBudget} against their budget.
+ * Statements are counted from the thread's {@link JdbcActivity}, and the SQL is captured by
+ * {@link QueryBudgetInspector} while a budgeted method runs. The aspect runs outside the
+ * transaction, so statements flushed on commit are counted too. Statements run by
+ * {@link TransactionalEventListener}s after the commit, such as read model refreshes, belong
+ * to the listener rather than to the method and are left out.
+ *
+ * Every overrun increments ems.query.budget.exceeded. With ems.query-budget.fail-on-exceed the
+ * call then fails with {@link QueryBudgetExceededException}; otherwise a warning listing the
+ * statements is logged, at most once per method every ems.query-budget.warn-interval.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetAspect {
+
+	private static final Logger log = LoggerFactory.getLogger(QueryBudgetAspect.class);
+
+	private static final int MAX_CAPTURED_STATEMENTS = 50;
+
+	private static final ThreadLocal<Deque<List<String>>> CAPTURING = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private static final ThreadLocal<Long> UNCOUNTED = ThreadLocal.withInitial(() -> 0L);
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${ems.query-budget.fail-on-exceed:false}")
+	private boolean failOnExceed;
+	@Value("${ems.query-budget.warn-interval:1m}")
+	private Duration warnInterval;
+
+	private final Map<String, Long> lastWarnedAt = new ConcurrentHashMap<>();
+
+	@Around("@annotation(com.mindfire.metrics.QueryBudget)")
+	public Object enforce(ProceedingJoinPoint joinPoint) throws Throwable {
+		QueryBudget budget = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(QueryBudget.class);
+		long before = JdbcActivity.current().getStatements();
+		long uncountedBefore = UNCOUNTED.get();
+		List<String> statements = new ArrayList<>();
+		Deque<List<String>> capturing = CAPTURING.get();
+		capturing.push(statements);
+		Object result;
+		try {
+			result = joinPoint.proceed();
+		} finally {
+			capturing.pop();
+		}
+		long executed = JdbcActivity.current().getStatements() - before - (UNCOUNTED.get() - uncountedBefore);
+		if (executed > budget.value()) {
+			exceeded(joinPoint.getSignature().toShortString(), budget.value(), executed, statements);
+		}
+		return result;
+	}
+
+	/**
+	 * Runs a listener invoked once its transaction has completed without charging its statements
+	 * to the budgeted method that published the event.
+	 */
+	@Around("@annotation(org.springframework.transaction.event.TransactionalEventListener)")
+	public Object exclude(ProceedingJoinPoint joinPoint) throws Throwable {
+		Deque<List<String>> capturing = CAPTURING.get();
+		TransactionalEventListener listener = ((MethodSignature) joinPoint.getSignature()).getMethod()
+				.getAnnotation(TransactionalEventListener.class);
+		if (capturing.isEmpty() || listener.phase() == TransactionPhase.BEFORE_COMMIT) {
+			return joinPoint.proceed();
+		}
+		long before = JdbcActivity.current().getStatements();
+		CAPTURING.set(new ArrayDeque<>());
+		try {
+			return joinPoint.proceed();
+		} finally {
+			CAPTURING.set(capturing);
+			UNCOUNTED.set(UNCOUNTED.get() + JdbcActivity.current().getStatements() - before);
+		}
+	}
+
+	static void capture(String sql) {
+		for (List<String> statements : CAPTURING.get()) {
+			if (statements.size() < MAX_CAPTURED_STATEMENTS) {
+				statements.add(sql);
+			}
+		}
+	}
+
+	private void exceeded(String method, int budget, long executed, List<String> statements) {
+		Counter.builder("ems.query.budget.exceeded")
+				.description("Calls that executed more SQL statements than their query budget")
+				.tag("method", method)
+				.register(meterRegistry)
+				.increment();
+		String message = method + " executed " + executed + " SQL statements, budget is " + budget + ":\n"
+				+ String.join("\n", statements);
+		if (failOnExceed) {
+			throw new QueryBudgetExceededException(message);
+		}
+		long now = System.nanoTime();
+		Long last = lastWarnedAt.get(method);
+		boolean due = last == null ? lastWarnedAt.putIfAbsent(method, now) == null
+				: now - last >= warnInterval.toNanos() && lastWarnedAt.replace(method, last, now);
+		if (due) {
+			log.warn(message);
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.mindfire.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+/**
+ * Hands the SQL of every statement Hibernate prepares to {@link QueryBudgetAspect}, so that a
+ * method going over its {@link QueryBudget} can be reported with the statements it ran.
+ */
+public class QueryBudgetInspector implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		QueryBudgetAspect.capture(sql);
+		return sql;
+	}
+}
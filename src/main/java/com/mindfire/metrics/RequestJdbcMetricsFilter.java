@@ -0,0 +1,67 @@
+package com.mindfire.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+/**
+ * Records how many SQL statements each request ran and how long it spent in JDBC.
+ * Both go into per-endpoint histograms, ems.http.sql.statements and ems.http.jdbc.time, tagged
+ * with the method and URI template so an N+1 regression shows up as a shift in one endpoint's
+ * distribution. The exact figures are also added to the request's trace span. They are not added
+ * as metric tags, because every distinct count would become a new time series.
+ *
+ * Only work done on the request thread is counted; the body of a streamed response is written
+ * after this filter has returned.
+ */
+@Component
+public class RequestJdbcMetricsFilter extends OncePerRequestFilter {
+
+	private static final String UNKNOWN_URI = "UNKNOWN";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		JdbcActivity.reset();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			JdbcActivity activity = JdbcActivity.current();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? UNKNOWN_URI : pattern.toString());
+			DistributionSummary.builder("ems.http.sql.statements")
+					.description("SQL statements executed per request")
+					.tags(tags)
+					.publishPercentileHistogram()
+					.register(meterRegistry)
+					.record(activity.getStatements());
+			Timer.builder("ems.http.jdbc.time")
+					.description("Time spent executing SQL per request")
+					.tags(tags)
+					.publishPercentileHistogram()
+					.register(meterRegistry)
+					.record(activity.getNanos(), TimeUnit.NANOSECONDS);
+			ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> {
+				context.addHighCardinalityKeyValue(KeyValue.of("sql.statements", String.valueOf(activity.getStatements())));
+				context.addHighCardinalityKeyValue(KeyValue.of("jdbc.time.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(activity.getNanos()))));
+			});
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.mindfire.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * Outcome of one row of a bulk employee ingest.
+ * {@code index} is the position of the row in the request body; {@code id} is only set
+ * when the employee was created.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEmployeeResult {
+	
+	public enum Status {
+		CREATED,
+		FAILED
+	}
+
+	private int index;
+
+	private Integer id;
+
+	private Status status;
+
+	private String message;
+	
+}
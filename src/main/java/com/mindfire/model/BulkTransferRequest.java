@@ -0,0 +1,23 @@
+package com.mindfire.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * Body of a bulk transfer: the employees to move out of {@code fromDepartmentId}
+ * and into {@code toDepartmentId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferRequest {
+	
+	private List<Integer> employeeIds;
+	
+	private int fromDepartmentId;
+	
+	private int toDepartmentId;
+	
+}
@@ -0,0 +1,31 @@
+package com.mindfire.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * Outcome of a bulk transfer.
+ * {@code moved} employees were members of the source department and now belong to the target one;
+ * {@code skipped} employees exist but were not in the source department and were left as they are;
+ * {@code missing} ids do not belong to any employee.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransferResult {
+	
+	private int fromDepartmentId;
+	
+	private int toDepartmentId;
+	
+	private List<Integer> moved;
+	
+	private List<Integer> skipped;
+	
+	private List<Integer> missing;
+	
+}
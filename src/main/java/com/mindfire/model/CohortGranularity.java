@@ -0,0 +1,20 @@
+package com.mindfire.model;
+
+import com.mindfire.constant.MessageConstant;
+import com.mindfire.exception.InvalidRequestException;
+/**
+ * Length of the periods hire cohorts are counted over.
+ */
+public enum CohortGranularity {
+	MONTH,
+	QUARTER;
+	
+	public static CohortGranularity of(String granularity) {
+		for (CohortGranularity candidate : values()) {
+			if (candidate.name().equalsIgnoreCase(granularity)) {
+				return candidate;
+			}
+		}
+		throw new InvalidRequestException(MessageConstant.INVALID_GRANULARITY + granularity);
+	}
+}
@@ -0,0 +1,11 @@
+package com.mindfire.model;
+/**
+ * Projection of a department name together with the number of employees assigned to it.
+ */
+public interface DepartmentHeadcount {
+	
+	String getName();
+	
+	long getHeadcount();
+	
+}
@@ -0,0 +1,16 @@
+package com.mindfire.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+/**
+ * One row of the employee_department join table.
+ */
+@Data
+@AllArgsConstructor
+public class DepartmentMembershipRow {
+	
+	private int employeeId;
+	
+	private int departmentId;
+	
+}
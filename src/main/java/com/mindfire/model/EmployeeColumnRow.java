@@ -0,0 +1,20 @@
+package com.mindfire.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+/**
+ * Id, salary and joining date of one employee, selected without hydrating the entity.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeColumnRow {
+	
+	private int id;
+	
+	private double salary;
+	
+	private LocalDate dateOfJoining;
+	
+}
@@ -15,6 +15,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class EmployeeResponse {
+	
+	public enum PerformanceStatus {
+		OK,
+		TIMED_OUT,
+		FAILED
+	}
 
 	private int id;
 
@@ -30,4 +36,6 @@ public class EmployeeResponse {
 	
 	private List<PerformanceResponse> performanceResponses;
 	
+	private PerformanceStatus performanceStatus;
+	
 }
@@ -0,0 +1,16 @@
+package com.mindfire.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+/**
+ * Id and salary of one employee, selected without hydrating the entity.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeSalaryRow {
+	
+	private int id;
+	
+	private double salary;
+	
+}
@@ -0,0 +1,21 @@
+package com.mindfire.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+/**
+ * Id, name, email and salary of one employee, selected without hydrating the entity.
+ * Used by the list endpoints when they are called with {@code view=summary}.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeSummary {
+	
+	private int id;
+	
+	private String name;
+	
+	private String email;
+	
+	private double salary;
+	
+}
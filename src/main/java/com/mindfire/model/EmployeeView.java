@@ -0,0 +1,22 @@
+package com.mindfire.model;
+
+import com.mindfire.constant.MessageConstant;
+import com.mindfire.exception.InvalidRequestException;
+/**
+ * Shape of the employees returned by the list endpoints.
+ * {@code FULL} returns the entities with their departments, {@code SUMMARY} returns
+ * {@link EmployeeSummary} rows only.
+ */
+public enum EmployeeView {
+	FULL,
+	SUMMARY;
+	
+	public static EmployeeView of(String view) {
+		for (EmployeeView candidate : values()) {
+			if (candidate.name().equalsIgnoreCase(view)) {
+				return candidate;
+			}
+		}
+		throw new InvalidRequestException(MessageConstant.INVALID_VIEW + view);
+	}
+}
@@ -0,0 +1,20 @@
+package com.mindfire.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+/**
+ * Number of employees hired in one month or quarter, e.g. {@code 2024-03} or {@code 2024-Q1}.
+ */
+@Data
+@AllArgsConstructor
+public class HireCohort {
+	
+	private String period;
+	
+	private LocalDate start;
+	
+	private long hires;
+	
+}
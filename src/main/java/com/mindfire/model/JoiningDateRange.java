@@ -0,0 +1,28 @@
+package com.mindfire.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * Selects the employees who joined between two dates, both inclusive, optionally only those
+ * in one department.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JoiningDateRange {
+	
+	private LocalDate from;
+	
+	private LocalDate to;
+	
+	private Integer departmentId;
+	
+	public boolean hasDepartment() {
+		return departmentId != null;
+	}
+}
@@ -0,0 +1,28 @@
+package com.mindfire.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * One page of a keyset (seek) paginated result.
+ * Unlike {@link org.springframework.data.domain.Page} it carries no total count; the client
+ * passes {@code nextToken} back to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeysetSlice<T> {
+	
+	private List<T> content;
+	
+	private int size;
+	
+	private boolean hasNext;
+	
+	private String nextToken;
+	
+}
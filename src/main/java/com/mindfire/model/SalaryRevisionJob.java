@@ -0,0 +1,100 @@
+package com.mindfire.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+/**
+ * Handle and progress of a bulk salary revision.
+ * The revision runs in the background in id-ordered chunks; {@code revisedEmployees} and
+ * {@code lastEmployeeId} advance after each committed chunk. {@code matchedEmployees} is counted
+ * when the job is created and is only an estimate of the final total while writes continue.
+ *
+ * Progress is only changed through the synchronized methods below, by the thread running the job.
+ * Other threads read a {@link #snapshot()}, so they never see a chunk or an outcome half recorded.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SalaryRevisionJob {
+	
+	public enum Status {
+		QUEUED,
+		RUNNING,
+		COMPLETED,
+		CANCELLED,
+		FAILED
+	}
+	
+	private final String id;
+	
+	private final double percentage;
+	
+	private final SalaryRevisionScope scope;
+	
+	private final Instant createdAt;
+	
+	private final long matchedEmployees;
+	
+	private Status status = Status.QUEUED;
+	
+	private long revisedEmployees;
+	
+	private int chunksCompleted;
+	
+	private Integer lastEmployeeId;
+	
+	private Instant startedAt;
+	
+	private Instant finishedAt;
+	
+	private String error;
+	
+	@JsonIgnore
+	private volatile boolean cancelRequested;
+	
+	public synchronized void start(Instant now) {
+		startedAt = now;
+		status = Status.RUNNING;
+	}
+	
+	public synchronized void recordChunk(int revised, int lastId) {
+		revisedEmployees += revised;
+		chunksCompleted++;
+		lastEmployeeId = lastId;
+	}
+	
+	public synchronized void finish(Status outcome, String failure, Instant now) {
+		status = outcome;
+		error = failure;
+		finishedAt = now;
+	}
+	/**
+	 * Asks the job to stop after its current chunk; no effect once it has finished.
+	 */
+	public synchronized void requestCancel() {
+		if (!isFinished()) {
+			cancelRequested = true;
+		}
+	}
+	
+	public synchronized boolean isFinished() {
+		return status == Status.COMPLETED || status == Status.CANCELLED || status == Status.FAILED;
+	}
+	/**
+	 * Returns a copy of the job as it stands, safe to read from any thread.
+	 */
+	public synchronized SalaryRevisionJob snapshot() {
+		SalaryRevisionJob copy = new SalaryRevisionJob(id, percentage, scope, createdAt, matchedEmployees);
+		copy.status = status;
+		copy.revisedEmployees = revisedEmployees;
+		copy.chunksCompleted = chunksCompleted;
+		copy.lastEmployeeId = lastEmployeeId;
+		copy.startedAt = startedAt;
+		copy.finishedAt = finishedAt;
+		copy.error = error;
+		copy.cancelRequested = cancelRequested;
+		return copy;
+	}
+}
@@ -0,0 +1,30 @@
+package com.mindfire.model;
+
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * Selects the employees a salary revision applies to.
+ * Unset fields do not restrict the selection, so an empty scope covers every employee.
+ * {@code departmentIds} matches employees in any of the given departments; the salary band
+ * bounds are inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryRevisionScope {
+	
+	private Set<Integer> departmentIds;
+	
+	private Double minSalary;
+	
+	private Double maxSalary;
+	
+	public boolean hasDepartments() {
+		return departmentIds != null && !departmentIds.isEmpty();
+	}
+}
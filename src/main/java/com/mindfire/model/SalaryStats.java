@@ -0,0 +1,34 @@
+package com.mindfire.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+/**
+ * Salary statistics of a department or of the whole organisation.
+ * Count, sum, mean, min and max are exact; the percentiles are within 1% of the true value.
+ * Every value is 0 when there are no employees.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryStats {
+	
+	private long count;
+	
+	private double sum;
+	
+	private double min;
+	
+	private double max;
+	
+	private double mean;
+	
+	private double p50;
+	
+	private double p90;
+	
+	private double p99;
+	
+}
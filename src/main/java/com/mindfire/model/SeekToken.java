@@ -0,0 +1,38 @@
+package com.mindfire.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.mindfire.constant.MessageConstant;
+import com.mindfire.exception.InvalidRequestException;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+/**
+ * Position of the last row of a keyset page, exchanged with clients as an opaque token.
+ * Employee pages seek on {@code (salary, id)} and joining-date pages on {@code (epoch day, id)},
+ * with the first value carried as {@code key}; department pages only use {@code id}.
+ */
+@Data
+@AllArgsConstructor
+public class SeekToken {
+	
+	private double key;
+	
+	private int id;
+	
+	public String encode() {
+		String raw = key + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static SeekToken decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(':');
+			return new SeekToken(Double.parseDouble(raw.substring(0, separator)), Integer.parseInt(raw.substring(separator + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new InvalidRequestException(MessageConstant.INVALID_PAGE_TOKEN + token);
+		}
+	}
+}
@@ -1,14 +1,39 @@
 package com.mindfire.repo;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 import org.springframework.stereotype.Repository;
+
+import com.mindfire.entity.Employee;
+import com.mindfire.model.HireCohort;
+import com.mindfire.model.JoiningDateRange;
+import com.mindfire.model.SalaryRevisionScope;
 /**
  * Custom repository interface for performing operations related to employee data.
  * This interface provides custom methods that extend standard CRUD functionality,
- * such as bulk salary updates.
+ * such as chunked salary revisions and joining-date range queries.
  */
 @Repository
 public interface CustomEmployeeRepository {
 	
-	void bulkSalaryGenerate(double percentage);
+	long countInScope(SalaryRevisionScope scope);
+	
+	List<Integer> reviseSalaryChunk(double percentage, SalaryRevisionScope scope, int afterId, int chunkSize);
+	
+	void streamAll(int fetchSize, Consumer<Employee> consumer);
+	
+	void insertAll(List<Employee> employees, List<Set<Integer>> departmentIds, int batchSize);
+	
+	List<Integer> transferMembers(Collection<Integer> employeeIds, int fromDepartmentId, int toDepartmentId);
+	
+	List<Employee> findJoinedAfter(JoiningDateRange range, LocalDate afterDate, int afterId, int limit);
+	
+	void streamJoined(JoiningDateRange range, int fetchSize, Consumer<Employee> consumer);
+	
+	List<HireCohort> countHiresPerMonth(JoiningDateRange range);
 
 }
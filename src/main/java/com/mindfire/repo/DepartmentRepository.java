@@ -1,9 +1,17 @@
 package com.mindfire.repo;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mindfire.entity.Department;
+import com.mindfire.model.DepartmentHeadcount;
 /**
  * Repository interface for accessing and managing department data.
  * Extends JpaRepository to provide basic CRUD operations on the Department entity.
@@ -11,5 +19,41 @@ import com.mindfire.entity.Department;
  */
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Integer>{
+	/**
+     * Returns the keyset page of departments with an id greater than the given one, in id order.
+     * Used for seek pagination; no count query is issued.
+     */
+	List<Department> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+	/**
+     * Counts the employees of every department with a single grouped query over the
+     * employee_department join table, without loading any employee rows.
+     * Departments without employees are returned with a headcount of 0.
+     */
+	@Query("SELECT d.name AS name, COUNT(e.id) AS headcount FROM Department d "
+			+ "LEFT JOIN d.employees e GROUP BY d.id, d.name")
+	List<DepartmentHeadcount> countEmployeesPerDepartment();
+	/**
+     * Returns which of the given department ids exist, resolving them all in one query.
+     */
+	@Query("SELECT d.id FROM Department d WHERE d.id IN :ids")
+	List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+	/**
+     * Returns the ids of the employees of a department without loading them.
+     */
+	@Query("SELECT e.id FROM Department d JOIN d.employees e WHERE d.id = :id")
+	List<Integer> findMemberIds(@Param("id") int id);
+	/**
+     * Returns the salaries of the employees of a department without loading them.
+     * Used when the in-memory salary distribution is not available.
+     */
+	@Query("SELECT e.salary FROM Department d JOIN d.employees e WHERE d.id = :id")
+	List<Double> findMemberSalaries(@Param("id") int id);
+	/**
+     * Removes every employee from a department with one statement on the join table.
+     * Employees already loaded in the persistence context are not updated.
+     */
+	@Modifying
+	@Query(value = "DELETE FROM employee_department WHERE department_id = :id", nativeQuery = true)
+	int deleteMemberships(@Param("id") int id);
 	
 }
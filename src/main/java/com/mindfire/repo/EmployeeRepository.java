@@ -1,16 +1,24 @@
 package com.mindfire.repo;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.query.Procedure;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mindfire.entity.Employee;
+import com.mindfire.model.DepartmentMembershipRow;
+import com.mindfire.model.EmployeeColumnRow;
+import com.mindfire.model.EmployeeSalaryRow;
+import com.mindfire.model.EmployeeSummary;
 
 /**
  * Repository interface for accessing and managing employee data.
@@ -20,9 +28,39 @@ import com.mindfire.entity.Employee;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Integer>, CustomEmployeeRepository {
 	
-	List<Employee> findBySalaryGreaterThan(Long salary);
+	/**
+     * Loads an employee together with its departments in one query, so the result can be
+     * used after the persistence context is closed.
+     */
+	@EntityGraph(attributePaths = "departments")
+	Optional<Employee> findWithDepartmentsById(int id);
+	
+	@EntityGraph(attributePaths = "departments")
+	List<Employee> findWithDepartmentsByIdIn(Collection<Integer> ids);
+	
+	@EntityGraph(attributePaths = "departments")
+	List<Employee> findWithDepartmentsByDepartmentsId(int departmentId);
 
-	List<Employee> findByDateOfJoiningAfter(LocalDate date);
+	/**
+     * List queries that serialize the departments of every employee load them in the same query
+     * through an entity graph, instead of initializing the lazy collection once per row.
+     */
+	@EntityGraph(attributePaths = "departments")
+	@Query("SELECT e FROM Employee e")
+	List<Employee> findAllWithDepartments();
+	
+	@EntityGraph(attributePaths = "departments")
+	List<Employee> findWithDepartmentsBySalaryGreaterThan(double salary);
+	
+	@EntityGraph(attributePaths = "departments")
+	List<Employee> findWithDepartmentsByDateOfJoiningAfter(LocalDate date);
+	/**
+     * Returns one page of employee ids. Pages of employees with departments are loaded by paging the
+     * ids first and fetching the departments for those ids only, because applying a limit to a
+     * collection fetch join makes Hibernate page the whole result in memory.
+     */
+	@Query(value = "SELECT e.id FROM Employee e", countQuery = "SELECT count(e) FROM Employee e")
+	Page<Integer> findIds(Pageable pageable);
 	/**
      * Finds employees who have one of the top 3 distinct salaries in the company.
      * This query joins the employee table with a subquery that selects the top 3 distinct salaries.
@@ -33,6 +71,107 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer>, Cu
 			+ "JOIN (SELECT DISTINCT salary FROM employee ORDER BY salary DESC LIMIT 3) top_salaries "
 			+ "ON e.salary = top_salaries.salary", nativeQuery = true)
 	List<Employee> findEmployeesWithTop3DistinctSalaries();
+	/**
+     * Finds employees who have one of the top {@code n} distinct salaries in the company.
+     * Used when the in-memory salary leaderboard is not available.
+     */
+	@Query(value = "SELECT e.* FROM employee e "
+			+ "JOIN (SELECT DISTINCT salary FROM employee ORDER BY salary DESC LIMIT :n) top_salaries "
+			+ "ON e.salary = top_salaries.salary", nativeQuery = true)
+	List<Employee> findEmployeesWithTopDistinctSalaries(@Param("n") int n);
+	/**
+     * Finds employees of one department who have one of the top {@code n} distinct salaries in that department.
+     * Used when the in-memory salary leaderboard is not available.
+     */
+	@Query(value = "SELECT e.* FROM employee e "
+			+ "JOIN employee_department ed ON ed.employee_id = e.id AND ed.department_id = :departmentId "
+			+ "JOIN (SELECT DISTINCT m.salary FROM employee m "
+			+ "JOIN employee_department md ON md.employee_id = m.id AND md.department_id = :departmentId "
+			+ "ORDER BY m.salary DESC LIMIT :n) top_salaries "
+			+ "ON e.salary = top_salaries.salary", nativeQuery = true)
+	List<Employee> findDepartmentEmployeesWithTopDistinctSalaries(@Param("departmentId") int departmentId, @Param("n") int n);
+	
+	@Query("SELECT new com.mindfire.model.EmployeeSalaryRow(e.id, e.salary) FROM Employee e")
+	List<EmployeeSalaryRow> findAllSalaryRows();
+	
+	/**
+     * Returns every salary without loading the employees.
+     * Used when the in-memory salary distribution is not available.
+     */
+	@Query("SELECT e.salary FROM Employee e")
+	List<Double> findAllSalaries();
+	
+	@Query("SELECT new com.mindfire.model.EmployeeSalaryRow(e.id, e.salary) FROM Employee e WHERE e.id IN :ids")
+	List<EmployeeSalaryRow> findSalaryRowsByIdIn(@Param("ids") Collection<Integer> ids);
+	
+	@Query("SELECT new com.mindfire.model.EmployeeColumnRow(e.id, e.salary, e.dateOfJoining) FROM Employee e")
+	List<EmployeeColumnRow> findAllColumnRows();
+	
+	@Query("SELECT new com.mindfire.model.EmployeeColumnRow(e.id, e.salary, e.dateOfJoining) FROM Employee e WHERE e.id IN :ids")
+	List<EmployeeColumnRow> findColumnRowsByIdIn(@Param("ids") Collection<Integer> ids);
+	
+	@Query("SELECT new com.mindfire.model.DepartmentMembershipRow(e.id, d.id) FROM Department d JOIN d.employees e")
+	List<DepartmentMembershipRow> findAllMembershipRows();
+	
+	@Query("SELECT new com.mindfire.model.DepartmentMembershipRow(e.id, d.id) FROM Department d JOIN d.employees e "
+			+ "WHERE e.id IN :ids")
+	List<DepartmentMembershipRow> findMembershipRowsByEmployeeIdIn(@Param("ids") Collection<Integer> ids);
+	
+	/**
+     * Summary rows select only the listed columns into a DTO, so no entity is instantiated,
+     * no dirty-checking snapshot is taken and the persistence context does not grow with the result.
+     */
+	@Query("SELECT new com.mindfire.model.EmployeeSummary(e.id, e.name, e.email, e.salary) FROM Employee e")
+	List<EmployeeSummary> findAllSummaries();
+	
+	@Query("SELECT new com.mindfire.model.EmployeeSummary(e.id, e.name, e.email, e.salary) FROM Employee e WHERE e.id IN :ids")
+	List<EmployeeSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+	/**
+     * Returns the employees whose lower-cased name or email starts with {@code prefix}, in id order.
+     * Used when the in-memory search index is not available; {@code prefix} must already be
+     * lower-cased, with backslashes, {@code %} and {@code _} escaped by a backslash.
+     */
+	@Query("SELECT new com.mindfire.model.EmployeeSummary(e.id, e.name, e.email, e.salary) FROM Employee e "
+			+ "WHERE LOWER(e.name) LIKE CONCAT(:prefix, '%') ESCAPE '\\' "
+			+ "OR LOWER(e.email) LIKE CONCAT(:prefix, '%') ESCAPE '\\' ORDER BY e.id")
+	List<EmployeeSummary> findSummariesByNameOrEmailStartingWith(@Param("prefix") String prefix, Pageable pageable);
+	
+	@Query("SELECT new com.mindfire.model.EmployeeSummary(e.id, e.name, e.email, e.salary) FROM Employee e "
+			+ "WHERE e.salary > :salary")
+	List<EmployeeSummary> findSummariesBySalaryGreaterThan(@Param("salary") double salary);
+	
+	@Query("SELECT new com.mindfire.model.EmployeeSummary(e.id, e.name, e.email, e.salary) FROM Employee e "
+			+ "WHERE e.dateOfJoining > :date")
+	List<EmployeeSummary> findSummariesByDateOfJoiningAfter(@Param("date") LocalDate date);
+	
+	@Query(value = "SELECT new com.mindfire.model.EmployeeSummary(e.id, e.name, e.email, e.salary) FROM Employee e",
+			countQuery = "SELECT count(e) FROM Employee e")
+	Page<EmployeeSummary> findSummaries(Pageable pageable);
+	
+	/**
+     * Returns the first keyset page of employees ordered by {@code salary DESC, id DESC}.
+     * Only the limit of the pageable is applied; no count query is issued.
+     */
+	@Query("SELECT e FROM Employee e ORDER BY e.salary DESC, e.id DESC")
+	List<Employee> findFirstBySalaryKeyset(Pageable pageable);
+	/**
+     * Returns the keyset page of employees that come after the given {@code (salary, id)} position
+     * in {@code salary DESC, id DESC} order, seeking on the salary/id index instead of using an OFFSET.
+     */
+	@Query("SELECT e FROM Employee e WHERE e.salary < :salary OR (e.salary = :salary AND e.id < :id) "
+			+ "ORDER BY e.salary DESC, e.id DESC")
+	List<Employee> findAfterSalaryKeyset(@Param("salary") double salary, @Param("id") int id, Pageable pageable);
+	
+	/**
+     * Returns which of the given email addresses are already used by an employee.
+     */
+	@Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+	/**
+     * Returns which of the given employee ids exist, resolving them all in one query.
+     */
+	@Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+	List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 	
 	@Procedure(name = "getAllEmployee")
 	List<Employee> getAllEmployee();
@@ -0,0 +1,35 @@
+package com.mindfire.repo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mindfire.entity.PerformanceSubmission;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+/**
+ * Repository interface for the local queue of performance submissions.
+ */
+@Repository
+public interface PerformanceSubmissionRepository extends JpaRepository<PerformanceSubmission, Long> {
+	/**
+     * Locks the oldest submissions in one of the given states that are due at {@code now}.
+     * Rows already locked by another dispatcher are skipped ({@code SKIP LOCKED}),
+     * so several nodes can claim from the queue without claiming a record twice.
+     */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT s FROM PerformanceSubmission s WHERE s.status IN :statuses AND s.nextAttemptAt <= :now ORDER BY s.id")
+	List<PerformanceSubmission> lockDue(@Param("statuses") Collection<PerformanceSubmission.Status> statuses,
+			@Param("now") Instant now, Pageable pageable);
+	
+}
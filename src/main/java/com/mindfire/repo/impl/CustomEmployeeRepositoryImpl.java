@@ -1,43 +1,298 @@
 package com.mindfire.repo.impl;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.mindfire.entity.Employee;
+import com.mindfire.model.HireCohort;
+import com.mindfire.model.JoiningDateRange;
+import com.mindfire.model.SalaryRevisionScope;
 import com.mindfire.repo.CustomEmployeeRepository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 /**
  * Implementation of the CustomEmployeeRepository interface.
  * This class contains custom logic for handling employee-related operations
- * that extend the basic functionality  such as bulk updating employee salaries.
+ * that extend the basic functionality  such as revising employee salaries in chunks.
  */
 @Repository
 public class CustomEmployeeRepositoryImpl implements CustomEmployeeRepository {
 	
 	@Autowired
 	private EntityManager entityManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	/**
+     * Counts the employees a salary revision with the given scope would touch.
+     * 
+     * @param scope the departments and salary band to match
+     * @return the number of matching employees
+     */
+	@Transactional(readOnly = true)
+	@Override
+	public long countInScope(SalaryRevisionScope scope) {
+		TypedQuery<Long> query = entityManager.createQuery("SELECT COUNT(e) FROM Employee e WHERE 1 = 1" + scopePredicate(scope), Long.class);
+		bindScope(query, scope);
+		return query.getSingleResult();
+	}
 	/**
-     * Bulk updates the salary of all employees by the given percentage.
+     * Revises the salary of the next chunk of employees in the given scope, in its own transaction.
+     * The chunk is the first {@code chunkSize} matching employees with an id above {@code afterId},
+     * so row locks are held only for those rows and only until the chunk commits.
      * The salaries are updated by multiplying each employee's salary with a multiplier,
      * which is calculated using the provided percentage.
      * 
      * @param percentage the percentage by which the employee salaries will be increased
      *                   (e.g., 10 for a 10% increase).
      *                   The salary will be multiplied by (1 + percentage / 100).
+     * @param scope      the departments and salary band to match
+     * @param afterId    the last employee id of the previous chunk, or 0 for the first chunk
+     * @param chunkSize  the maximum number of employees to revise
+     * @return the ids of the revised employees in ascending order; empty once the scope is exhausted
      */
 	@Transactional
 	@Override
-	public void bulkSalaryGenerate(double percentage) {
+	public List<Integer> reviseSalaryChunk(double percentage, SalaryRevisionScope scope, int afterId, int chunkSize) {
 		double multiplier = 1 + (percentage / 100);
 
-		String jpql = "UPDATE Employee e SET e.salary = ROUND(e.salary * :multiplier, 2)";
+		TypedQuery<Integer> select = entityManager.createQuery(
+				"SELECT e.id FROM Employee e WHERE e.id > :afterId" + scopePredicate(scope) + " ORDER BY e.id", Integer.class);
+		select.setParameter("afterId", afterId);
+		bindScope(select, scope);
+		select.setMaxResults(chunkSize);
+		List<Integer> ids = select.getResultList();
+		if (ids.isEmpty()) {
+			return ids;
+		}
+
+		String jpql = "UPDATE Employee e SET e.salary = ROUND(e.salary * :multiplier, 2) WHERE e.id IN :ids";
 		Query query = entityManager.createQuery(jpql);
 		query.setParameter("multiplier", multiplier);
+		query.setParameter("ids", ids);
 
 		query.executeUpdate();
-		
+		return ids;
+	}
+	
+	private static String scopePredicate(SalaryRevisionScope scope) {
+		StringBuilder predicate = new StringBuilder();
+		if (scope.hasDepartments()) {
+			predicate.append(" AND EXISTS (SELECT d.id FROM Department d JOIN d.employees m WHERE m.id = e.id AND d.id IN :departmentIds)");
+		}
+		if (scope.getMinSalary() != null) {
+			predicate.append(" AND e.salary >= :minSalary");
+		}
+		if (scope.getMaxSalary() != null) {
+			predicate.append(" AND e.salary <= :maxSalary");
+		}
+		return predicate.toString();
+	}
+	
+	private static void bindScope(Query query, SalaryRevisionScope scope) {
+		if (scope.hasDepartments()) {
+			query.setParameter("departmentIds", scope.getDepartmentIds());
+		}
+		if (scope.getMinSalary() != null) {
+			query.setParameter("minSalary", scope.getMinSalary());
+		}
+		if (scope.getMaxSalary() != null) {
+			query.setParameter("maxSalary", scope.getMaxSalary());
+		}
+	}
+	/**
+     * Streams every employee, ordered by id, through a forward-only cursor.
+     * Rows are fetched from the database {@code fetchSize} at a time and each entity is
+     * detached right after the consumer has seen it, so the persistence context never
+     * holds more than one employee regardless of the table size.
+     * 
+     * @param fetchSize the number of rows the JDBC driver fetches per round trip
+     * @param consumer  receives each employee while the read-only transaction is still open
+     */
+	@Transactional(readOnly = true)
+	@Override
+	public void streamAll(int fetchSize, Consumer<Employee> consumer) {
+		TypedQuery<Employee> query = entityManager.createQuery("SELECT e FROM Employee e ORDER BY e.id", Employee.class);
+		query.setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize);
+		query.setHint(AvailableHints.HINT_READ_ONLY, true);
+
+		try (Stream<Employee> stream = query.getResultStream()) {
+			stream.forEach(employee -> {
+				consumer.accept(employee);
+				entityManager.detach(employee);
+			});
+		}
+	}
+	/**
+     * Inserts a chunk of new employees and their department memberships in one transaction.
+     * Employee ids come from the pooled sequence, so Hibernate groups the inserts into JDBC
+     * batches; the employee_department rows are written with a plain JDBC batch, which avoids
+     * loading each department's member collection. The persistence context is cleared
+     * afterwards so it does not grow from one chunk to the next.
+     * 
+     * @param employees     new employees to insert; their ids are assigned on return
+     * @param departmentIds ids of existing departments for each employee, in the same order
+     * @param batchSize     number of employee_department rows per JDBC batch
+     */
+	@Transactional
+	@Override
+	public void insertAll(List<Employee> employees, List<Set<Integer>> departmentIds, int batchSize) {
+		for (Employee employee : employees) {
+			entityManager.persist(employee);
+		}
+		entityManager.flush();
+
+		List<int[]> memberships = new ArrayList<>();
+		for (int i = 0; i < employees.size(); i++) {
+			for (Integer departmentId : departmentIds.get(i)) {
+				memberships.add(new int[] { departmentId, employees.get(i).getId() });
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO employee_department (department_id, employee_id) VALUES (?, ?)",
+				memberships, batchSize, (ps, membership) -> {
+					ps.setInt(1, membership[0]);
+					ps.setInt(2, membership[1]);
+				});
+		entityManager.clear();
+	}
+	/**
+     * Moves the given employees from one department to another with set-based statements on
+     * the employee_department table, in one transaction. Only employees that are members of
+     * the source department are moved; they are added to the target department unless they
+     * already belong to it, then removed from the source. No entity or member collection is loaded.
+     * 
+     * @param employeeIds      the employees to move
+     * @param fromDepartmentId the department to move them out of
+     * @param toDepartmentId   the department to move them into
+     * @return the ids of the employees that were members of the source department and were moved
+     */
+	@Transactional
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Integer> transferMembers(Collection<Integer> employeeIds, int fromDepartmentId, int toDepartmentId) {
+		List<Integer> members = entityManager.createNativeQuery(
+				"SELECT employee_id FROM employee_department WHERE department_id = :fromId AND employee_id IN :ids "
+						+ "ORDER BY employee_id FOR UPDATE", Integer.class)
+				.setParameter("fromId", fromDepartmentId)
+				.setParameter("ids", employeeIds)
+				.getResultList();
+		if (members.isEmpty()) {
+			return members;
+		}
+
+		entityManager.createNativeQuery(
+				"INSERT INTO employee_department (department_id, employee_id) "
+						+ "SELECT :toId, e.id FROM employee e WHERE e.id IN :ids AND NOT EXISTS "
+						+ "(SELECT 1 FROM employee_department ed WHERE ed.department_id = :toId AND ed.employee_id = e.id)")
+				.setParameter("toId", toDepartmentId)
+				.setParameter("ids", members)
+				.executeUpdate();
+		entityManager.createNativeQuery(
+				"DELETE FROM employee_department WHERE department_id = :fromId AND employee_id IN :ids")
+				.setParameter("fromId", fromDepartmentId)
+				.setParameter("ids", members)
+				.executeUpdate();
+		return members;
+	}
+	/**
+     * Returns the next employees in the range in {@code (dateOfJoining, id)} order, starting after
+     * the given position. Served by the {@code (date_of_joining, id)} index, so each page costs the
+     * same no matter how deep into the range it is.
+     * 
+     * @param range     the joining dates and optional department to match
+     * @param afterDate joining date of the last employee of the previous page, or null for the first page
+     * @param afterId   id of the last employee of the previous page
+     * @param limit     the maximum number of employees to return
+     * @return the matching employees, without their departments loaded
+     */
+	@Transactional(readOnly = true)
+	@Override
+	public List<Employee> findJoinedAfter(JoiningDateRange range, LocalDate afterDate, int afterId, int limit) {
+		String seek = afterDate == null ? ""
+				: " AND (e.dateOfJoining > :afterDate OR (e.dateOfJoining = :afterDate AND e.id > :afterId))";
+		TypedQuery<Employee> query = entityManager.createQuery(
+				"SELECT e FROM Employee e WHERE 1 = 1" + rangePredicate(range) + seek + " ORDER BY e.dateOfJoining, e.id", Employee.class);
+		bindRange(query, range);
+		if (afterDate != null) {
+			query.setParameter("afterDate", afterDate);
+			query.setParameter("afterId", afterId);
+		}
+		query.setMaxResults(limit);
+		return query.getResultList();
+	}
+	/**
+     * Streams the employees in the range, in {@code (dateOfJoining, id)} order, through a
+     * forward-only cursor, detaching each one after the consumer has seen it like {@link #streamAll}.
+     * 
+     * @param range     the joining dates and optional department to match
+     * @param fetchSize the number of rows the JDBC driver fetches per round trip
+     * @param consumer  receives each employee while the read-only transaction is still open
+     */
+	@Transactional(readOnly = true)
+	@Override
+	public void streamJoined(JoiningDateRange range, int fetchSize, Consumer<Employee> consumer) {
+		TypedQuery<Employee> query = entityManager.createQuery(
+				"SELECT e FROM Employee e WHERE 1 = 1" + rangePredicate(range) + " ORDER BY e.dateOfJoining, e.id", Employee.class);
+		bindRange(query, range);
+		query.setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize);
+		query.setHint(AvailableHints.HINT_READ_ONLY, true);
+
+		try (Stream<Employee> stream = query.getResultStream()) {
+			stream.forEach(employee -> {
+				consumer.accept(employee);
+				entityManager.detach(employee);
+			});
+		}
+	}
+	/**
+     * Counts the employees in the range per calendar month of joining, with one grouped query.
+     * 
+     * @param range the joining dates and optional department to match
+     * @return one cohort per month with at least one hire, oldest first
+     */
+	@Transactional(readOnly = true)
+	@Override
+	public List<HireCohort> countHiresPerMonth(JoiningDateRange range) {
+		TypedQuery<Object[]> query = entityManager.createQuery(
+				"SELECT YEAR(e.dateOfJoining), MONTH(e.dateOfJoining), COUNT(e) FROM Employee e WHERE 1 = 1" + rangePredicate(range)
+						+ " GROUP BY YEAR(e.dateOfJoining), MONTH(e.dateOfJoining)"
+						+ " ORDER BY YEAR(e.dateOfJoining), MONTH(e.dateOfJoining)", Object[].class);
+		bindRange(query, range);
+		List<HireCohort> cohorts = new ArrayList<>();
+		for (Object[] row : query.getResultList()) {
+			YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+			cohorts.add(new HireCohort(month.toString(), month.atDay(1), ((Number) row[2]).longValue()));
+		}
+		return cohorts;
+	}
+	
+	private static String rangePredicate(JoiningDateRange range) {
+		StringBuilder predicate = new StringBuilder(" AND e.dateOfJoining BETWEEN :from AND :to");
+		if (range.hasDepartment()) {
+			predicate.append(" AND EXISTS (SELECT d.id FROM Department d JOIN d.employees m WHERE m.id = e.id AND d.id = :departmentId)");
+		}
+		return predicate.toString();
+	}
+	
+	private static void bindRange(Query query, JoiningDateRange range) {
+		query.setParameter("from", range.getFrom());
+		query.setParameter("to", range.getTo());
+		if (range.hasDepartment()) {
+			query.setParameter("departmentId", range.getDepartmentId());
+		}
 	}
 		
 }
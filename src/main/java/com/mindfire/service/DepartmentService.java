@@ -7,6 +7,8 @@ import org.springframework.data.domain.Page;
 
 import com.mindfire.entity.Department;
 import com.mindfire.entity.Employee;
+import com.mindfire.model.KeysetSlice;
+import com.mindfire.model.SalaryStats;
 /**
  * Service interface for managing department-related operations.
  * This interface provides methods to add, delete departments, and retrieve information 
@@ -24,7 +26,15 @@ public interface DepartmentService {
 	
 	Page<Department> getDepartmentInBatches(int pageNo,int pageSize);
 	
+	KeysetSlice<Department> getDepartmentsAfter(String token,int pageSize);
+	
 	Department getDepartmentById(int id);
 	
 	Department updatDepartment(int id,Department department);
+	
+	SalaryStats getSalaryStats(int departmentId);
+	
+	SalaryStats getOrganisationSalaryStats();
+	
+	SalaryStats rebuildSalaryStats();
 }
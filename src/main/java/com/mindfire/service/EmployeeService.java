@@ -2,21 +2,35 @@ package com.mindfire.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 
 import com.mindfire.entity.Department;
 import com.mindfire.entity.Employee;
+import com.mindfire.entity.PerformanceSubmission;
 /**
  * Service interface for managing employee-related operations.
  * This interface includes methods for adding, updating, deleting employees, assigning departments,
  * and retrieving employee data based on various criteria (e.g., salary, joining date, etc.).
  */
+import com.mindfire.model.BulkEmployeeResult;
+import com.mindfire.model.BulkTransferRequest;
+import com.mindfire.model.BulkTransferResult;
+import com.mindfire.model.EmployeeResponse;
+import com.mindfire.model.EmployeeSummary;
+import com.mindfire.model.HireCohort;
+import com.mindfire.model.JoiningDateRange;
+import com.mindfire.model.KeysetSlice;
 import com.mindfire.model.PerformanceResponse;
+import com.mindfire.model.SalaryRevisionJob;
+import com.mindfire.model.SalaryRevisionScope;
 public interface EmployeeService {
 	
 	Employee addEmployee(Employee employee);
 	
+	List<BulkEmployeeResult> addEmployees(List<Employee> employees);
+	
 	Employee updatEmployee(int id,Employee employee);
 	
 	Employee updateEmployeeSalary(int id,double salary);
@@ -25,23 +39,59 @@ public interface EmployeeService {
 	
 	List<Employee> getAllEmployees();
 	
+	List<EmployeeSummary> getAllEmployeeSummaries();
+	
+	void streamAllEmployees(Consumer<EmployeeResponse> consumer);
+	
 	Employee getEmployeeById(int id);
 	
 	Employee assignDepartment(int emp_id,int dep_id);
 	
 	List<Employee> getAllEmployeesBySalary(long salary);
 	
+	List<EmployeeSummary> getEmployeeSummariesBySalary(long salary);
+	
 	List<Employee> getAllEmployeeByJoiningDate(LocalDate date);
 	
+	List<EmployeeSummary> getEmployeeSummariesByJoiningDate(LocalDate date);
+	
 	List<Employee> getTop3HighestPaidEmployees();
 	
+	List<Employee> getTopPaidEmployees(int n,Integer departmentId);
+	
+	List<EmployeeSummary> searchEmployees(String query,boolean fuzzy,int limit);
+	
 	Page<Employee> getEmployeesInBatches(int pageNo,int pageSize);
 	
+	Page<EmployeeSummary> getEmployeeSummariesInBatches(int pageNo,int pageSize);
+	
+	KeysetSlice<Employee> getEmployeesAfter(String token,int pageSize);
+	
+	KeysetSlice<EmployeeResponse> getEmployeesJoinedBetween(JoiningDateRange range,String token,int pageSize);
+	
+	void streamEmployeesJoinedBetween(JoiningDateRange range,Consumer<EmployeeResponse> consumer);
+	
+	List<HireCohort> getHireCohorts(JoiningDateRange range,String granularity);
+	
 	void employeeTransfer(int emp_id,int old_dep_id,int new_dep_id);
 	
+	BulkTransferResult transferEmployees(BulkTransferRequest request);
+	
 	void updateBulkSalary(double percentage);
 	
+	SalaryRevisionJob startSalaryRevision(double percentage,SalaryRevisionScope scope);
+	
+	SalaryRevisionJob getSalaryRevision(String jobId);
+	
+	SalaryRevisionJob cancelSalaryRevision(String jobId);
+	
 	List<PerformanceResponse> getPerformanceByEmployeeId(int id);
 	
+	List<EmployeeResponse> getEmployeesWithPerformance(List<Integer> ids,Integer departmentId);
+	
 	PerformanceResponse addPerformanceToEmployee(PerformanceResponse performanceResponse,int id);
+	
+	PerformanceSubmission submitPerformance(PerformanceResponse performanceResponse,int id);
+	
+	PerformanceSubmission getPerformanceSubmission(long trackingId);
 }
@@ -1,9 +1,12 @@
 package com.mindfire.service.impl;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,17 +14,43 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.mindfire.entity.Department;
-import com.mindfire.entity.Employee;
+import com.mindfire.cache.ReadThroughCache;
+import com.mindfire.constant.MessageConstant;
+import com.mindfire.event.DepartmentChangedEvent;
+import com.mindfire.event.EmployeeChangedEvent;
+import com.mindfire.exception.InvalidRequestException;
+import com.mindfire.index.SalaryDistribution;
+import com.mindfire.index.SalarySketch;
+import com.mindfire.metrics.QueryBudget;
+import com.mindfire.model.DepartmentHeadcount;
+import com.mindfire.model.KeysetSlice;
+import com.mindfire.model.SalaryStats;
+import com.mindfire.model.SeekToken;
 import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
 import com.mindfire.service.DepartmentService;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 /***
  * DepartmentServiceImpl class implements DepartmentService interface  
  */
 @Service
+@Timed(value = "ems.service", histogram = true)
 public class DepartmentServiceImpl implements DepartmentService {
 	
 	@Autowired
 	private DepartmentRepository departmentRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private ReadThroughCache<Integer, Department> departmentCache;
+	@Autowired
+	private SalaryDistribution salaryDistribution;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Value("${ems.pagination.max-page-size:1000}")
+	private int maxPageSize;
 
 	@Override
 	/***
@@ -31,6 +60,7 @@ public class DepartmentServiceImpl implements DepartmentService {
 	 */
 	public Department addDepartment(Department department) {
 		Department dep = departmentRepository.save(department);
+		eventPublisher.publishEvent(new DepartmentChangedEvent(dep.getId()));
 		return dep;
 	}
 
@@ -39,25 +69,26 @@ public class DepartmentServiceImpl implements DepartmentService {
 	 * Used to delete an department from Department entity.
 	 * @param id
 	 */
+	@Transactional
 	public void deleteDepartment(int id) {
 		if(removeDepartmentFromEmployee(id)) {
 		departmentRepository.deleteById(id);
+		eventPublisher.publishEvent(new DepartmentChangedEvent(id));
 		}
 	}
 	
 	/***
 	 * Used to remove Department from Employee entity.
+	 * The memberships are deleted with one statement, without loading the employees.
 	 * @param dep_id
 	 * @return Boolean
 	 */
 	public boolean removeDepartmentFromEmployee(int dep_id) {
 		Department department = departmentRepository.findById(dep_id).get();
 		if(department!=null) {
-			List<Employee> emp=department.getEmployees();
-			for (Employee employee : emp) {
-				employee.getDepartments().remove(department);
-			}
-		departmentRepository.save(department);
+			List<Integer> employeeIds=departmentRepository.findMemberIds(dep_id);
+			departmentRepository.deleteMemberships(dep_id);
+		eventPublisher.publishEvent(EmployeeChangedEvent.of(employeeIds));
 		return true;
 		}
 		return false;
@@ -66,13 +97,15 @@ public class DepartmentServiceImpl implements DepartmentService {
 	@Override
 	/***
 	 * Used to Fetch the total number of employees in each department.
+	 * The counts come from one grouped aggregate query instead of loading every department's employees.
 	 * @return HashMap<String,Integer>
 	 */
+	@QueryBudget(1)
 	public HashMap<String, Integer> countEmployeeOfEachDepartment() {
 		HashMap<String, Integer> map=new HashMap<>();
-		List<Department> list=departmentRepository.findAll();
-		for (Department department : list) {
-			map.put(department.getName(), department.getEmployees().size());
+		List<DepartmentHeadcount> list=departmentRepository.countEmployeesPerDepartment();
+		for (DepartmentHeadcount headcount : list) {
+			map.put(headcount.getName(), (int) headcount.getHeadcount());
 		}
 		return map;
 	}
@@ -91,8 +124,38 @@ public class DepartmentServiceImpl implements DepartmentService {
 	}
 
 	@Override
+	/***
+	 * Used to retrieve departments in id order using keyset pagination.
+	 * Seeks past the id encoded in the token, so no OFFSET scan or count query is run.
+	 * @param token position returned with the previous page, or null for the first page
+	 * @param pageSize
+	 * @return {@link KeysetSlice<Department>}
+	 */
+	public KeysetSlice<Department> getDepartmentsAfter(String token, int pageSize) {
+		if (pageSize < 1 || pageSize > maxPageSize) {
+			throw new InvalidRequestException(MessageConstant.INVALID_PAGE_SIZE + maxPageSize);
+		}
+		int afterId = (token == null || token.isEmpty()) ? 0 : SeekToken.decode(token).getId();
+		List<Department> rows = departmentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+		boolean hasNext = rows.size() > pageSize;
+		List<Department> content = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+		String nextToken = hasNext ? new SeekToken(0, content.get(content.size() - 1).getId()).encode() : null;
+		return KeysetSlice.<Department>builder()
+				.content(content)
+				.size(content.size())
+				.hasNext(hasNext)
+				.nextToken(nextToken)
+				.build();
+	}
+
+	@Override
+	/***
+	 * Used to fetch a department by id, served from the department cache.
+	 * @param id
+	 * @return {@link Department}
+	 */
 	public Department getDepartmentById(int id) {
-		Department department = departmentRepository.findById(id).get();
+		Department department = departmentCache.get(id, key -> departmentRepository.findById(key).get());
 		return department;
 	}
 
@@ -103,9 +166,57 @@ public class DepartmentServiceImpl implements DepartmentService {
 			dept.setName(department.getName());
 			dept.setLocation(department.getLocation());
 		}
-		
-		return addDepartment(dept);
+		Department saved = departmentRepository.save(dept);
+		// Only the views that embed departments in their employees need the members; the employee
+		// read models do not show department names and are left alone
+		eventPublisher.publishEvent(new DepartmentChangedEvent(id, departmentRepository.findMemberIds(id)));
+		return saved;
+	}
+
+	@Override
+	/***
+	 * Used to fetch the salary statistics of a department.
+	 * Served from the in-memory salary distribution, which is kept current on every employee change;
+	 * while it is unavailable the department's salaries are read from the database instead.
+	 * @param departmentId
+	 * @return {@link SalaryStats}
+	 */
+	public SalaryStats getSalaryStats(int departmentId) {
+		if (!departmentRepository.existsById(departmentId)) {
+			throw new InvalidRequestException(MessageConstant.DEPARTMENT_NOT_FOUND + departmentId);
+		}
+		if (salaryDistribution.isReady()) {
+			return salaryDistribution.departmentStats(departmentId);
+		}
+		return summarize(departmentRepository.findMemberSalaries(departmentId));
+	}
+
+	@Override
+	/***
+	 * Used to fetch the salary statistics of the whole organisation, each employee counted once.
+	 * @return {@link SalaryStats}
+	 */
+	public SalaryStats getOrganisationSalaryStats() {
+		if (salaryDistribution.isReady()) {
+			return salaryDistribution.organisationStats();
+		}
+		return summarize(employeeRepository.findAllSalaries());
+	}
+
+	@Override
+	/***
+	 * Used to rebuild the salary distribution from the database, e.g. after salaries were changed
+	 * directly in the database.
+	 * @return {@link SalaryStats} of the whole organisation after the rebuild
+	 */
+	public SalaryStats rebuildSalaryStats() {
+		salaryDistribution.rebuild();
+		return getOrganisationSalaryStats();
 	}
 	
-	
+	private static SalaryStats summarize(List<Double> salaries) {
+		SalarySketch sketch = new SalarySketch();
+		salaries.forEach(sketch::add);
+		return sketch.toStats();
+	}
 }
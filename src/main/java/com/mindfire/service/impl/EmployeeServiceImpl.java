@@ -1,13 +1,36 @@
 package com.mindfire.service.impl;
 
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -15,17 +38,44 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import com.mindfire.cache.CachedPerformance;
+import com.mindfire.cache.PerformanceCache;
+import com.mindfire.cache.ReadThroughCache;
+import com.mindfire.client.PerformanceBatchClient;
 import com.mindfire.client.PerformanceClient;
 import com.mindfire.constant.MessageConstant;
 import com.mindfire.entity.Department;
 import com.mindfire.entity.Employee;
+import com.mindfire.entity.PerformanceSubmission;
+import com.mindfire.event.DepartmentChangedEvent;
+import com.mindfire.event.EmployeeChangedEvent;
 import com.mindfire.exception.CustomFeignException;
 import com.mindfire.exception.EmployeeNotFoundException;
+import com.mindfire.exception.InvalidRequestException;
 import com.mindfire.exception.PerformanceNotAddedException;
+import com.mindfire.exception.PerformanceSubmissionNotFoundException;
+import com.mindfire.exception.SalaryRevisionJobNotFoundException;
+import com.mindfire.index.EmployeeColumnSnapshot;
+import com.mindfire.index.EmployeeSearchIndex;
+import com.mindfire.index.SalaryLeaderboard;
+import com.mindfire.metrics.QueryBudget;
+import com.mindfire.model.BulkEmployeeResult;
+import com.mindfire.model.BulkTransferRequest;
+import com.mindfire.model.BulkTransferResult;
+import com.mindfire.model.CohortGranularity;
+import com.mindfire.model.EmployeeResponse;
+import com.mindfire.model.EmployeeSummary;
+import com.mindfire.model.HireCohort;
+import com.mindfire.model.JoiningDateRange;
+import com.mindfire.model.KeysetSlice;
 import com.mindfire.model.PerformanceResponse;
+import com.mindfire.model.SalaryRevisionJob;
+import com.mindfire.model.SalaryRevisionScope;
+import com.mindfire.model.SeekToken;
 import com.mindfire.repo.CustomEmployeeRepository;
 import com.mindfire.repo.DepartmentRepository;
 import com.mindfire.repo.EmployeeRepository;
+import com.mindfire.repo.PerformanceSubmissionRepository;
 import com.mindfire.service.EmployeeService;
 
 import feign.FeignException;
@@ -33,51 +83,224 @@ import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 /***
  * EmployeeServiceImpl class implements EmployeeService interface  
  */
 @Service
+@Timed(value = "ems.service", histogram = true)
 public class EmployeeServiceImpl implements EmployeeService {
 	
+	private static final int HYDRATE_CHUNK_SIZE = 1000;
+	
 	@Autowired
 	private EmployeeRepository employeeRepository;
 	@Autowired
 	private DepartmentRepository departmentRepository;
 	@Autowired
 	private PerformanceClient performanceClient;
+	@Autowired
+	private PerformanceSubmissionRepository submissionRepository;
+	@Autowired
+	private SalaryRevisionRunner salaryRevisionRunner;
+	@Autowired
+	private PerformanceBatchClient performanceBatchClient;
+	@Autowired
+	private PerformanceCache performanceCache;
+	@Autowired
+	private Validator validator;
+	@Autowired
+	private ReadThroughCache<Integer, Employee> employeeCache;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Autowired
+	private SalaryLeaderboard salaryLeaderboard;
+	@Autowired(required = false)
+	private EmployeeColumnSnapshot columnSnapshot;
+	@Autowired
+	private EmployeeSearchIndex searchIndex;
+	@Value("${ems.employee.stream.fetch-size:500}")
+	private int streamFetchSize;
+	@Value("${ems.pagination.max-page-size:1000}")
+	private int maxPageSize;
+	@Value("${ems.employee.bulk.max-rows:10000}")
+	private int bulkMaxRows;
+	@Value("${ems.employee.bulk.chunk-size:500}")
+	private int bulkChunkSize;
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int jdbcBatchSize;
+	@Value("${ems.leaderboard.max-n:100}")
+	private int maxTopN;
+	@Value("${ems.search.max-limit:50}")
+	private int maxSearchLimit;
+	@Value("${ems.performance.fan-out.max-employees:500}")
+	private int maxPerformanceBatch;
+	@Value("${ems.performance.fan-out.deadline:2s}")
+	private Duration performanceDeadline;
 	
 	
 	/***
 	 * Used to add employee to Employee Entity.
+	 * Referenced departments are resolved with one query, however many there are.
 	 * @param employee
 	 * @return {@link Employee}
 	 */
 	@Override
 	@Transactional
+	@QueryBudget(8)
 	public Employee addEmployee(Employee employee) {
-		for (Department department : employee.getDepartments()) {
+		// New departments get their id, and so their hash, when saved; start from a fresh set
+		List<Department> requested = new ArrayList<>(employee.getDepartments());
+		employee.setDepartments(new HashSet<>());
+		return saveWithDepartments(employee, requested);
+	}
+	/***
+	 * Saves an employee as a member of exactly the given departments.
+	 * Only the memberships that differ from the current ones are written.
+	 */
+	private Employee saveWithDepartments(Employee employee, Collection<Department> requested) {
+		Set<Integer> existingIds = requested.stream()
+				.map(Department::getId)
+				.filter(id -> id != 0)
+				.collect(Collectors.toSet());
+		// Existing departments are fetched with one query so that they are managed
+		Map<Integer, Department> managed = existingIds.isEmpty() ? Map.of()
+				: departmentRepository.findAllById(existingIds).stream()
+						.collect(Collectors.toMap(Department::getId, Function.identity()));
+		Set<Department> departments = new HashSet<>();
+		for (Department department : requested) {
             if (department.getId() == 0) {
                 // New department, so we save it
                 departmentRepository.save(department);
+                eventPublisher.publishEvent(new DepartmentChangedEvent(department.getId()));
             } else {
-                // Existing department, fetch it from the database to ensure it's managed
-                Department managedDepartment = departmentRepository.findById(department.getId()).orElse(null);
+                Department managedDepartment = managed.get(department.getId());
                 if (managedDepartment != null) {
                     department = managedDepartment; // Re-attach the department
                 } else {
                     throw new IllegalArgumentException("Department with ID " + department.getId() + " not found.");
                 }
             }
-
-            // Add the employee to the department (bi-directional relationship)
-            if (!department.getEmployees().contains(employee)) {
-                department.getEmployees().add(employee);
-            }
+            // The employee owns the membership, so the department's member set is never loaded
+            departments.add(department);
         }
+        employee.getDepartments().retainAll(departments);
+        employee.getDepartments().addAll(departments);
 
         // Save or update the employee, now that all departments are properly attached
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(saved.getId()));
+        return saved;
+	}
+	/***
+	 * Used to add many employees at once.
+	 * All referenced departments are resolved with one query up front; rows are then validated
+	 * and written in chunks, each chunk in its own short transaction with batched inserts.
+	 * A failing row or chunk does not stop the remaining ones.
+	 * @param employees
+	 * @return List<{@link BulkEmployeeResult}> one result per input row, in input order
+	 */
+	@Override
+	public List<BulkEmployeeResult> addEmployees(List<Employee> employees) {
+		if (employees.size() > bulkMaxRows) {
+			throw new InvalidRequestException(MessageConstant.BULK_TOO_LARGE + bulkMaxRows);
+		}
+		Set<Integer> referencedIds = employees.stream()
+				.flatMap(employee -> employee.getDepartments().stream())
+				.map(Department::getId)
+				.filter(id -> id != 0)
+				.collect(Collectors.toSet());
+		Set<Integer> existingIds = referencedIds.isEmpty() ? Set.of()
+				: new HashSet<>(departmentRepository.findExistingIds(referencedIds));
+
+		BulkEmployeeResult[] results = new BulkEmployeeResult[employees.size()];
+		Set<String> seenEmails = new HashSet<>();
+		for (int from = 0; from < employees.size(); from += bulkChunkSize) {
+			int to = Math.min(from + bulkChunkSize, employees.size());
+			List<Integer> accepted = new ArrayList<>();
+			for (int index = from; index < to; index++) {
+				String error = validateBulkRow(employees.get(index), existingIds, seenEmails);
+				if (error != null) {
+					results[index] = failedRow(index, error);
+				} else {
+					accepted.add(index);
+				}
+			}
+			insertChunk(employees, accepted, results);
+		}
+		return List.of(results);
+	}
+	
+	private String validateBulkRow(Employee employee, Set<Integer> existingIds, Set<String> seenEmails) {
+		Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+		if (!violations.isEmpty()) {
+			return violations.stream()
+					.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+					.sorted()
+					.collect(Collectors.joining(", "));
+		}
+		for (Department department : employee.getDepartments()) {
+			if (!existingIds.contains(department.getId())) {
+				return MessageConstant.DEPARTMENT_NOT_FOUND + department.getId();
+			}
+		}
+		if (!seenEmails.add(employee.getEmail())) {
+			return MessageConstant.DUPLICATE_EMAIL + employee.getEmail();
+		}
+		return null;
+	}
+	
+	private void insertChunk(List<Employee> employees, List<Integer> accepted, BulkEmployeeResult[] results) {
+		if (accepted.isEmpty()) {
+			return;
+		}
+		Set<String> takenEmails = new HashSet<>(employeeRepository.findExistingEmails(
+				accepted.stream().map(index -> employees.get(index).getEmail()).toList()));
+		List<Integer> indexes = new ArrayList<>();
+		List<Employee> chunk = new ArrayList<>();
+		List<Set<Integer>> departmentIds = new ArrayList<>();
+		for (Integer index : accepted) {
+			Employee employee = employees.get(index);
+			if (takenEmails.contains(employee.getEmail())) {
+				results[index] = failedRow(index, MessageConstant.DUPLICATE_EMAIL + employee.getEmail());
+				continue;
+			}
+			departmentIds.add(employee.getDepartments().stream().map(Department::getId)
+					.collect(Collectors.toCollection(LinkedHashSet::new)));
+			employee.setId(0);
+			employee.setDepartments(new HashSet<>());
+			indexes.add(index);
+			chunk.add(employee);
+		}
+		if (chunk.isEmpty()) {
+			return;
+		}
+		try {
+			employeeRepository.insertAll(chunk, departmentIds, jdbcBatchSize);
+			eventPublisher.publishEvent(EmployeeChangedEvent.of(chunk.stream().map(Employee::getId).toList()));
+			for (int i = 0; i < chunk.size(); i++) {
+				results[indexes.get(i)] = BulkEmployeeResult.builder()
+						.index(indexes.get(i))
+						.id(chunk.get(i).getId())
+						.status(BulkEmployeeResult.Status.CREATED)
+						.build();
+			}
+		} catch (DataAccessException e) {
+			for (Integer index : indexes) {
+				results[index] = failedRow(index, MessageConstant.BULK_CHUNK_FAILED + e.getMostSpecificCause().getMessage());
+			}
+		}
+	}
+	
+	private BulkEmployeeResult failedRow(int index, String message) {
+		return BulkEmployeeResult.builder()
+				.index(index)
+				.status(BulkEmployeeResult.Status.FAILED)
+				.message(message)
+				.build();
 	}
 	/***
 	 * Used to update employee salary.
@@ -92,6 +315,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 			Employee emp = employee.get();
 			emp.setSalary(salary);
 			employeeRepository.save(emp);
+			eventPublisher.publishEvent(EmployeeChangedEvent.of(id));
 			return emp;
 		}
 		
@@ -103,8 +327,10 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 */
 	@Override
 	public void deleteEmployee(int id) {
-		if(removeEmployeeFromDepartment(id))
+		if(removeEmployeeFromDepartment(id)) {
 		employeeRepository.deleteById(id);
+		eventPublisher.publishEvent(EmployeeChangedEvent.of(id));
+		}
 		
 	}
 	/***
@@ -113,10 +339,41 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 */
 	@Override
 	@Transactional
+	@QueryBudget(1)
 	public List<Employee> getAllEmployees() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeRepository.findAllWithDepartments();
 		return list;
 	}
+	/***
+	 * Used to fetch id, name, email and salary of all employees without hydrating entities.
+	 * @return List<{@link EmployeeSummary}
+	 */
+	@Override
+	public List<EmployeeSummary> getAllEmployeeSummaries() {
+		return employeeRepository.findAllSummaries();
+	}
+	/***
+	 * Used to stream all employees one row at a time without loading the whole table.
+	 * Each employee is handed to the consumer as soon as it is read from the cursor;
+	 * departments are left out so no lazy collection is initialized per row.
+	 * @param consumer
+	 */
+	@Override
+	public void streamAllEmployees(Consumer<EmployeeResponse> consumer) {
+		employeeRepository.streamAll(streamFetchSize, employee -> consumer.accept(toResponse(employee)));
+	}
+	/**
+	 * Copies the employee's own columns into a response, leaving departments and performance out.
+	 */
+	private static EmployeeResponse toResponse(Employee employee) {
+		return EmployeeResponse.builder()
+				.id(employee.getId())
+				.name(employee.getName())
+				.email(employee.getEmail())
+				.salary(employee.getSalary())
+				.dateOfJoining(employee.getDateOfJoining())
+				.build();
+	}
 	/***
 	 * Used to assign a department to an employee.
 	 * @param emp_id
@@ -131,9 +388,8 @@ public class EmployeeServiceImpl implements EmployeeService {
 			Department department = dep.get();
 			Employee employee = emp.get();
 			employee.getDepartments().add(department);
-			department.getEmployees().add(employee);
-			departmentRepository.save(department);
 			employeeRepository.save(employee);
+			eventPublisher.publishEvent(EmployeeChangedEvent.of(emp_id));
 			return employee;
 		}
 		return null;
@@ -146,10 +402,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 	public boolean removeEmployeeFromDepartment(int emp_id) {
 		Employee employee = employeeRepository.findById(emp_id).get();
 		if(employee!=null) {
-			List<Department> dep=employee.getDepartments();
-			for (Department department : dep) {
-				department.getEmployees().remove(employee);
-			}
+			employee.getDepartments().clear();
 		employeeRepository.save(employee);
 		return true;
 		}
@@ -159,24 +412,66 @@ public class EmployeeServiceImpl implements EmployeeService {
 	@Override
 	/***
 	 * Used to fetch employee by salary greater than a given amount.
+	 * When the in-memory column snapshot is enabled, the matching ids come from it and only the
+	 * matching employees are read from the database; otherwise, or while it is unavailable, a query is used.
 	 * @param salary
 	 * @return List<{@link Employee}
 	 */
 	public List<Employee> getAllEmployeesBySalary(long salary) {
-		List<Employee> list = employeeRepository.findBySalaryGreaterThan(salary);
+		if (columnSnapshot != null && columnSnapshot.isReady()) {
+			return findWithDepartmentsById(columnSnapshot.idsWithSalaryAbove(salary));
+		}
+		List<Employee> list = employeeRepository.findWithDepartmentsBySalaryGreaterThan(salary);
 		return list;
 	}
 
+	@Override
+	/***
+	 * Used to fetch summaries of employees with salary greater than a given amount.
+	 * @param salary
+	 * @return List<{@link EmployeeSummary}
+	 */
+	public List<EmployeeSummary> getEmployeeSummariesBySalary(long salary) {
+		return employeeRepository.findSummariesBySalaryGreaterThan(salary);
+	}
+
 	@Override
 	/***
 	 * Used to Fetch employees who joined in the last 6 months. 
+	 * Answered from the in-memory column snapshot like {@link #getAllEmployeesBySalary(long)}.
 	 * @param date
 	 * @return {@link List<Employee>}
 	 */
 	public List<Employee> getAllEmployeeByJoiningDate(LocalDate date) {
-		List<Employee> list = employeeRepository.findByDateOfJoiningAfter(date.minusMonths(6));
+		if (columnSnapshot != null && columnSnapshot.isReady()) {
+			return findWithDepartmentsById(columnSnapshot.idsJoinedAfter(date.minusMonths(6)));
+		}
+		List<Employee> list = employeeRepository.findWithDepartmentsByDateOfJoiningAfter(date.minusMonths(6));
 		return list;
 	}
+	/**
+	 * Loads the given employees with their departments, HYDRATE_CHUNK_SIZE ids per query, in id order.
+	 */
+	private List<Employee> findWithDepartmentsById(List<Integer> ids) {
+		List<Integer> sorted = ids.stream().sorted().toList();
+		List<Employee> employees = new ArrayList<>(sorted.size());
+		for (int from = 0; from < sorted.size(); from += HYDRATE_CHUNK_SIZE) {
+			List<Integer> chunk = sorted.subList(from, Math.min(from + HYDRATE_CHUNK_SIZE, sorted.size()));
+			employees.addAll(employeeRepository.findWithDepartmentsByIdIn(chunk));
+		}
+		employees.sort(Comparator.comparingInt(Employee::getId));
+		return employees;
+	}
+
+	@Override
+	/***
+	 * Used to fetch summaries of employees who joined in the last 6 months.
+	 * @param date
+	 * @return {@link List<EmployeeSummary>}
+	 */
+	public List<EmployeeSummary> getEmployeeSummariesByJoiningDate(LocalDate date) {
+		return employeeRepository.findSummariesByDateOfJoiningAfter(date.minusMonths(6));
+	}
 
 	@Override
 	/***
@@ -184,21 +479,222 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 * @return {@link List<Employee>}
 	 */
 	public List<Employee> getTop3HighestPaidEmployees() {
-		List<Employee> list = employeeRepository.findEmployeesWithTop3DistinctSalaries();
+		List<Employee> list = getTopPaidEmployees(3, null);
 		return list;
 	}
 
+	@Override
+	/***
+	 * Used to fetch the employees holding the n highest distinct salaries, optionally within one department.
+	 * Answered from the in-memory salary leaderboard, so only the matching employees are read from the
+	 * database; falls back to a query while the leaderboard is unavailable.
+	 * @param n
+	 * @param departmentId
+	 * @return {@link List<Employee>} ordered by salary, highest first
+	 */
+	public List<Employee> getTopPaidEmployees(int n, Integer departmentId) {
+		if (n < 1 || n > maxTopN) {
+			throw new InvalidRequestException(MessageConstant.INVALID_TOP_N + maxTopN);
+		}
+		List<Employee> list;
+		if (salaryLeaderboard.isReady()) {
+			list = employeeRepository.findAllById(salaryLeaderboard.topEmployeeIds(n, departmentId));
+		} else if (departmentId == null) {
+			list = employeeRepository.findEmployeesWithTopDistinctSalaries(n);
+		} else {
+			list = employeeRepository.findDepartmentEmployeesWithTopDistinctSalaries(departmentId, n);
+		}
+		return list.stream()
+				.sorted(Comparator.comparingDouble(Employee::getSalary).reversed().thenComparingInt(Employee::getId))
+				.toList();
+	}
+
+	@Override
+	/***
+	 * Used to search employees by a prefix of their name, email or any word of either, ignoring case.
+	 * Answered from the in-memory search index, so only the matching summaries are read from the
+	 * database; with {@code fuzzy} set, prefixes one typo away match too. While the index is
+	 * unavailable, whole names and emails are matched by prefix with a query and fuzzy is ignored.
+	 * @param query
+	 * @param fuzzy
+	 * @param limit
+	 * @return {@link List<EmployeeSummary>} best match first
+	 */
+	@QueryBudget(1)
+	public List<EmployeeSummary> searchEmployees(String query, boolean fuzzy, int limit) {
+		if (query == null || query.isBlank()) {
+			throw new InvalidRequestException(MessageConstant.MISSING_SEARCH_QUERY);
+		}
+		if (limit < 1 || limit > maxSearchLimit) {
+			throw new InvalidRequestException(MessageConstant.INVALID_SEARCH_LIMIT + maxSearchLimit);
+		}
+		if (!searchIndex.isReady()) {
+			String prefix = EmployeeSearchIndex.normalize(query).replaceAll("([\\\\%_])", "\\\\$1");
+			return employeeRepository.findSummariesByNameOrEmailStartingWith(prefix, PageRequest.of(0, limit));
+		}
+		List<Integer> ids = searchIndex.search(query, fuzzy, limit);
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Map<Integer, EmployeeSummary> summaries = new HashMap<>();
+		employeeRepository.findSummariesByIdIn(ids).forEach(summary -> summaries.put(summary.getId(), summary));
+		return ids.stream()
+				.map(summaries::get)
+				.filter(Objects::nonNull)
+				.toList();
+	}
+
 	@Override
 	/***
 	 * Used to retrieve employees ordered by salary in descending order in pages.
+	 * The page of ids is read first and the employees are then loaded with their departments
+	 * in one query, so the number of statements does not grow with the page size.
 	 * @param pageNo
 	 * @param pageSize
 	 * @return {@link List<Employee>}
 	 */
 	public Page<Employee> getEmployeesInBatches(int pageNo, int pageSize) {
 		Pageable pageable=PageRequest.of(pageNo, pageSize, Sort.by("salary").descending());
-		Page<Employee> page = employeeRepository.findAll(pageable);
-		return page;
+		Page<Integer> ids = employeeRepository.findIds(pageable);
+		Map<Integer, Employee> employees = employeeRepository.findWithDepartmentsByIdIn(ids.getContent()).stream()
+				.collect(Collectors.toMap(Employee::getId, Function.identity()));
+		// Rows deleted since the id page was read are dropped rather than returned as null
+		List<Employee> content = ids.stream().map(employees::get).filter(Objects::nonNull).toList();
+		return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+	}
+
+	@Override
+	/***
+	 * Used to retrieve employee summaries ordered by salary in descending order in pages.
+	 * @param pageNo
+	 * @param pageSize
+	 * @return {@link Page<EmployeeSummary>}
+	 */
+	public Page<EmployeeSummary> getEmployeeSummariesInBatches(int pageNo, int pageSize) {
+		Pageable pageable=PageRequest.of(pageNo, pageSize, Sort.by("salary").descending());
+		return employeeRepository.findSummaries(pageable);
+	}
+
+	@Override
+	/***
+	 * Used to retrieve employees who joined within a date range, optionally in one department,
+	 * ordered by joining date using keyset pagination on (joining date, id).
+	 * Departments are left out of the rows, so each page is one indexed range query.
+	 * @param range from and to dates, both inclusive, and an optional department id
+	 * @param token position returned with the previous page, or null for the first page
+	 * @param pageSize
+	 * @return {@link KeysetSlice<EmployeeResponse>}
+	 */
+	public KeysetSlice<EmployeeResponse> getEmployeesJoinedBetween(JoiningDateRange range, String token, int pageSize) {
+		validateRange(range);
+		if (pageSize < 1 || pageSize > maxPageSize) {
+			throw new InvalidRequestException(MessageConstant.INVALID_PAGE_SIZE + maxPageSize);
+		}
+		List<Employee> rows;
+		if (token == null || token.isEmpty()) {
+			rows = employeeRepository.findJoinedAfter(range, null, 0, pageSize + 1);
+		} else {
+			SeekToken position = SeekToken.decode(token);
+			rows = employeeRepository.findJoinedAfter(range, LocalDate.ofEpochDay((long) position.getKey()), position.getId(), pageSize + 1);
+		}
+		boolean hasNext = rows.size() > pageSize;
+		List<Employee> content = hasNext ? rows.subList(0, pageSize) : rows;
+		String nextToken = null;
+		if (hasNext) {
+			Employee last = content.get(content.size() - 1);
+			nextToken = new SeekToken(last.getDateOfJoining().toEpochDay(), last.getId()).encode();
+		}
+		return KeysetSlice.<EmployeeResponse>builder()
+				.content(content.stream().map(EmployeeServiceImpl::toResponse).toList())
+				.size(content.size())
+				.hasNext(hasNext)
+				.nextToken(nextToken)
+				.build();
+	}
+
+	@Override
+	/***
+	 * Used to stream employees who joined within a date range, optionally in one department,
+	 * ordered by joining date. Rows are handed to the consumer as they are read from the cursor.
+	 * @param range from and to dates, both inclusive, and an optional department id
+	 * @param consumer
+	 */
+	public void streamEmployeesJoinedBetween(JoiningDateRange range, Consumer<EmployeeResponse> consumer) {
+		validateRange(range);
+		employeeRepository.streamJoined(range, streamFetchSize, employee -> consumer.accept(toResponse(employee)));
+	}
+
+	@Override
+	/***
+	 * Used to count hires per month or quarter within a date range, optionally in one department.
+	 * Months are counted by one grouped query; quarters are summed from the months.
+	 * @param range from and to dates, both inclusive, and an optional department id
+	 * @param granularity {@code month} or {@code quarter}
+	 * @return {@link List<HireCohort>} one per period with at least one hire, oldest first
+	 */
+	public List<HireCohort> getHireCohorts(JoiningDateRange range, String granularity) {
+		validateRange(range);
+		CohortGranularity length = CohortGranularity.of(granularity);
+		List<HireCohort> months = employeeRepository.countHiresPerMonth(range);
+		if (length == CohortGranularity.MONTH) {
+			return months;
+		}
+		Map<LocalDate, HireCohort> quarters = new LinkedHashMap<>();
+		for (HireCohort month : months) {
+			LocalDate start = month.getStart().withMonth((month.getStart().getMonthValue() - 1) / 3 * 3 + 1);
+			HireCohort quarter = quarters.computeIfAbsent(start,
+					key -> new HireCohort(key.getYear() + "-Q" + ((key.getMonthValue() - 1) / 3 + 1), key, 0));
+			quarter.setHires(quarter.getHires() + month.getHires());
+		}
+		return new ArrayList<>(quarters.values());
+	}
+	
+	private static void validateRange(JoiningDateRange range) {
+		if (range.getFrom().isAfter(range.getTo())) {
+			throw new InvalidRequestException(MessageConstant.INVALID_DATE_RANGE);
+		}
+	}
+
+	@Override
+	/***
+	 * Used to retrieve employees ordered by salary in descending order using keyset pagination.
+	 * Seeks past the (salary, id) position encoded in the token, so every page costs the same
+	 * as the first one and no count query is run. The departments of the page are loaded by id
+	 * in a second query, like {@link #getEmployeesInBatches(int, int)} does.
+	 * @param token position returned with the previous page, or null for the first page
+	 * @param pageSize
+	 * @return {@link KeysetSlice<Employee>}
+	 */
+	public KeysetSlice<Employee> getEmployeesAfter(String token, int pageSize) {
+		if (pageSize < 1 || pageSize > maxPageSize) {
+			throw new InvalidRequestException(MessageConstant.INVALID_PAGE_SIZE + maxPageSize);
+		}
+		Pageable limit = PageRequest.of(0, pageSize + 1);
+		List<Employee> rows;
+		if (token == null || token.isEmpty()) {
+			rows = employeeRepository.findFirstBySalaryKeyset(limit);
+		} else {
+			SeekToken position = SeekToken.decode(token);
+			rows = employeeRepository.findAfterSalaryKeyset(position.getKey(), position.getId(), limit);
+		}
+		boolean hasNext = rows.size() > pageSize;
+		List<Integer> ids = (hasNext ? rows.subList(0, pageSize) : rows).stream().map(Employee::getId).toList();
+		Map<Integer, Employee> employees = employeeRepository.findWithDepartmentsByIdIn(ids).stream()
+				.collect(Collectors.toMap(Employee::getId, Function.identity()));
+		// Rows deleted since the keyset query are dropped, and the token is taken from the keyset row
+		// so the next page seeks from where this one stopped even if the last row changed meanwhile
+		List<Employee> content = ids.stream().map(employees::get).filter(Objects::nonNull).toList();
+		String nextToken = null;
+		if (hasNext) {
+			Employee last = rows.get(pageSize - 1);
+			nextToken = new SeekToken(last.getSalary(), last.getId()).encode();
+		}
+		return KeysetSlice.<Employee>builder()
+				.content(content)
+				.size(content.size())
+				.hasNext(hasNext)
+				.nextToken(nextToken)
+				.build();
 	}
 
 	@Override
@@ -209,32 +705,143 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 * @param new_dep_id
 	 */
 	@Transactional
+	@QueryBudget(8)
 	public void employeeTransfer(int emp_id, int old_dep_id, int new_dep_id) {
 		Department oldDepartment=departmentRepository.findById(old_dep_id).get();
 		Department newDepartment=departmentRepository.findById(new_dep_id).get();
 		Employee employee=employeeRepository.findById(emp_id).get();
 		if(oldDepartment!=null && newDepartment!=null && employee!=null) {
 		employee.getDepartments().add(newDepartment);
-		newDepartment.getEmployees().add(employee);
 		employee.getDepartments().remove(oldDepartment);
-		oldDepartment.getEmployees().remove(employee);
-		departmentRepository.save(newDepartment);
-		departmentRepository.save(oldDepartment);
 		employeeRepository.save(employee);
+		eventPublisher.publishEvent(EmployeeChangedEvent.of(emp_id));
 		}
 	}	
+	
+	@Override
+	/***
+	 * Used to move many employees from one department to another in one transaction.
+	 * The memberships are rewritten with set-based statements, so the cost does not depend on
+	 * the size of either department.
+	 * @param request the employees and the source and target departments
+	 * @return {@link BulkTransferResult} the moved, skipped and missing employee ids
+	 */
+	@Transactional
+	public BulkTransferResult transferEmployees(BulkTransferRequest request) {
+		if (request.getEmployeeIds() == null || request.getEmployeeIds().isEmpty()) {
+			throw new InvalidRequestException(MessageConstant.MISSING_TRANSFER_EMPLOYEES);
+		}
+		Set<Integer> ids = new LinkedHashSet<>(request.getEmployeeIds());
+		if (ids.size() > bulkMaxRows) {
+			throw new InvalidRequestException(MessageConstant.BULK_TOO_LARGE + bulkMaxRows);
+		}
+		int fromId = request.getFromDepartmentId();
+		int toId = request.getToDepartmentId();
+		if (fromId == toId) {
+			throw new InvalidRequestException(MessageConstant.SAME_DEPARTMENT_TRANSFER + fromId);
+		}
+		List<Integer> existingDepartments = departmentRepository.findExistingIds(List.of(fromId, toId));
+		for (int departmentId : List.of(fromId, toId)) {
+			if (!existingDepartments.contains(departmentId)) {
+				throw new InvalidRequestException(MessageConstant.DEPARTMENT_NOT_FOUND + departmentId);
+			}
+		}
+
+		Set<Integer> existing = new HashSet<>(employeeRepository.findExistingIds(ids));
+		Set<Integer> moved = new HashSet<>(employeeRepository.transferMembers(existing, fromId, toId));
+		List<Integer> movedIds = new ArrayList<>();
+		List<Integer> skippedIds = new ArrayList<>();
+		List<Integer> missingIds = new ArrayList<>();
+		for (Integer id : ids) {
+			if (moved.contains(id)) {
+				movedIds.add(id);
+			} else if (existing.contains(id)) {
+				skippedIds.add(id);
+			} else {
+				missingIds.add(id);
+			}
+		}
+		if (!movedIds.isEmpty()) {
+			eventPublisher.publishEvent(EmployeeChangedEvent.of(movedIds));
+		}
+		return BulkTransferResult.builder()
+				.fromDepartmentId(fromId)
+				.toDepartmentId(toId)
+				.moved(movedIds)
+				.skipped(skippedIds)
+				.missing(missingIds)
+				.build();
+	}
 
 	@Override
 	/***
 	 * Used for bulk salary updates of employees.
+	 * Runs the revision in chunks on the calling thread and returns once it is complete.
 	 * @param percentage
 	 */
 	public void updateBulkSalary(double percentage) {
-		employeeRepository.bulkSalaryGenerate(percentage);
+		validateSalaryRevision(percentage, new SalaryRevisionScope());
+		salaryRevisionRunner.runNow(percentage, new SalaryRevisionScope());
 	}
+	/***
+	 * Used to start a bulk salary revision in the background.
+	 * Employees in scope are revised in id-ordered chunks, each committed on its own, so the
+	 * table is never locked as a whole.
+	 * @param percentage
+	 * @param scope the departments and salary band to revise; an empty scope revises everyone
+	 * @return {@link SalaryRevisionJob} the job handle, with the number of matching employees
+	 */
+	@Override
+	public SalaryRevisionJob startSalaryRevision(double percentage, SalaryRevisionScope scope) {
+		validateSalaryRevision(percentage, scope);
+		return salaryRevisionRunner.submit(percentage, scope);
+	}
+	
+	private void validateSalaryRevision(double percentage, SalaryRevisionScope scope) {
+		if (percentage <= -100) {
+			throw new InvalidRequestException(MessageConstant.INVALID_SALARY_PERCENTAGE + percentage);
+		}
+		if (scope.getMinSalary() != null && scope.getMaxSalary() != null && scope.getMinSalary() > scope.getMaxSalary()) {
+			throw new InvalidRequestException(MessageConstant.INVALID_SALARY_BAND);
+		}
+		if (scope.hasDepartments()) {
+			Set<Integer> missing = new LinkedHashSet<>(scope.getDepartmentIds());
+			missing.removeAll(departmentRepository.findExistingIds(scope.getDepartmentIds()));
+			if (!missing.isEmpty()) {
+				throw new InvalidRequestException(MessageConstant.DEPARTMENT_NOT_FOUND + missing.iterator().next());
+			}
+		}
+	}
+	/***
+	 * Used to fetch the progress of a bulk salary revision.
+	 * @param jobId
+	 * @return {@link SalaryRevisionJob}
+	 */
+	@Override
+	public SalaryRevisionJob getSalaryRevision(String jobId) {
+		return salaryRevisionRunner.get(jobId)
+				.orElseThrow(() -> new SalaryRevisionJobNotFoundException(MessageConstant.SALARY_REVISION_NOT_FOUND+jobId));
+	}
+	/***
+	 * Used to cancel a bulk salary revision. Chunks already committed are kept.
+	 * @param jobId
+	 * @return {@link SalaryRevisionJob}
+	 */
+	@Override
+	public SalaryRevisionJob cancelSalaryRevision(String jobId) {
+		return salaryRevisionRunner.cancel(jobId)
+				.orElseThrow(() -> new SalaryRevisionJobNotFoundException(MessageConstant.SALARY_REVISION_NOT_FOUND+jobId));
+	}
+	/***
+	 * Used to fetch an employee by id.
+	 * Served from the employee cache; on a miss the employee is loaded with its departments
+	 * so the cached instance never needs a lazy load later.
+	 * @param id
+	 * @return {@link Employee}
+	 */
 	@Override
 	public Employee getEmployeeById(int id) {
-		Employee employee=employeeRepository.findById(id).get();
+		Employee employee=employeeCache.get(id, key -> employeeRepository.findWithDepartmentsById(key).get());
 		return employee;
 	}
 	@Override
@@ -246,13 +853,14 @@ public class EmployeeServiceImpl implements EmployeeService {
 			emp.setEmail(employee.getEmail());
 			emp.setSalary(employee.getSalary());
 			emp.setDateOfJoining(employee.getDateOfJoining());
-			emp.setDepartments(employee.getDepartments());
 		}
 		
-		return addEmployee(emp);
+		return saveWithDepartments(emp, employee.getDepartments());
 	}
 	/**
      * Retrieves the performance records for a given employee by their ID.
+     * Records are served from the performance cache when present, which refreshes them in the
+     * background once they get old; otherwise they are fetched and cached.
      * 
      * @param id The ID of the employee for whom performance records are to be fetched.
      * @return A list of {@link PerformanceResponse} representing the performance records of the employee.
@@ -261,7 +869,14 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public List<PerformanceResponse> getPerformanceByEmployeeId(int id) {
         employeeRepository.findById(id).orElseThrow(() -> new EmployeeNotFoundException(MessageConstant.EMPLOYEE_NOT_FOUND+id));
-        List<PerformanceResponse> list = performanceClient.getPerformanceById(id);
+        Optional<CachedPerformance> cached = performanceCache.get(id);
+        List<PerformanceResponse> list;
+        if (cached.isPresent()) {
+            list = cached.get().getPerformances();
+        } else {
+            list = performanceClient.getPerformanceById(id);
+            performanceCache.put(id, list);
+        }
         if(list.size()==0) {
         	throw new PerformanceNotAddedException(MessageConstant.FEEDBACK_NOT_ADDED+id);
         }
@@ -270,6 +885,75 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    /**
+     * Retrieves employees together with their performance records, either for the given ids
+     * or for every member of a department. Cached performance records are used where present; the
+     * rest are fetched concurrently and the whole lookup is bounded by a deadline; employees whose records could not be fetched in time
+     * are still returned, with {@code performanceStatus} telling why their records are missing.
+     * 
+     * @param ids The IDs of the employees to fetch; ignored when a department is given.
+     * @param departmentId The ID of the department whose members should be fetched, or null.
+     * @return A list of {@link EmployeeResponse} with performance records attached where available.
+     */
+    @Override
+    public List<EmployeeResponse> getEmployeesWithPerformance(List<Integer> ids, Integer departmentId) {
+        List<Employee> employees;
+        if (departmentId != null) {
+            employees = employeeRepository.findWithDepartmentsByDepartmentsId(departmentId);
+        } else if (ids != null && !ids.isEmpty()) {
+            employees = employeeRepository.findWithDepartmentsByIdIn(ids);
+        } else {
+            throw new InvalidRequestException(MessageConstant.MISSING_EMPLOYEE_SELECTION);
+        }
+        if (employees.size() > maxPerformanceBatch) {
+            throw new InvalidRequestException(MessageConstant.TOO_MANY_EMPLOYEES + maxPerformanceBatch);
+        }
+        Map<Integer, CachedPerformance> cached = new HashMap<>();
+        List<Integer> uncached = new ArrayList<>();
+        for (Employee employee : employees) {
+            performanceCache.get(employee.getId()).ifPresentOrElse(
+                    hit -> cached.put(employee.getId(), hit), () -> uncached.add(employee.getId()));
+        }
+        Map<Integer, CompletableFuture<List<PerformanceResponse>>> lookups =
+                performanceBatchClient.fetchAll(uncached, performanceDeadline);
+        List<EmployeeResponse> responses = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            EmployeeResponse response = EmployeeResponse.builder()
+                    .id(employee.getId())
+                    .name(employee.getName())
+                    .email(employee.getEmail())
+                    .salary(employee.getSalary())
+                    .dateOfJoining(employee.getDateOfJoining())
+                    .departments(new ArrayList<>(employee.getDepartments()))
+                    .build();
+            if (cached.containsKey(employee.getId())) {
+                response.setPerformanceResponses(cached.get(employee.getId()).getPerformances());
+                response.setPerformanceStatus(EmployeeResponse.PerformanceStatus.OK);
+                responses.add(response);
+                continue;
+            }
+            CompletableFuture<List<PerformanceResponse>> lookup = lookups.get(employee.getId());
+            try {
+                List<PerformanceResponse> performances = lookup.getNow(null);
+                if (performances == null) {
+                    // Nothing usable came back, so there is nothing to cache either
+                    response.setPerformanceStatus(EmployeeResponse.PerformanceStatus.FAILED);
+                } else {
+                    performanceCache.put(employee.getId(), performances);
+                    response.setPerformanceResponses(performances);
+                    response.setPerformanceStatus(EmployeeResponse.PerformanceStatus.OK);
+                }
+            } catch (CompletionException e) {
+                response.setPerformanceStatus(e.getCause() instanceof TimeoutException
+                        ? EmployeeResponse.PerformanceStatus.TIMED_OUT : EmployeeResponse.PerformanceStatus.FAILED);
+            } catch (CancellationException e) {
+                response.setPerformanceStatus(EmployeeResponse.PerformanceStatus.TIMED_OUT);
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
     /**
      * Adds a new performance record to an employee's profile.
      * 
@@ -285,6 +969,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         try {
             PerformanceResponse response = performanceClient.addPerformanceResponse(performanceResponse, id);
+            performanceCache.invalidate(id);
             return response;
         } catch (FeignException e) {
             String errorMessage = e.contentUTF8();
@@ -295,6 +980,44 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new CustomFeignException(MessageConstant.FEEDBACK_ADD_ERROR + errorMessage);
         }
     }
-	
-	
+
+    /**
+     * Accepts a performance record for asynchronous delivery.
+     * The employee is validated and the record is stored in the local submission queue; the
+     * {@link PerformanceSubmissionDispatcher} forwards it to the performance service later.
+     * 
+     * @param performanceResponse The {@link PerformanceResponse} object that holds the performance data to be added.
+     * @param id The ID of the employee to whom the performance record will be added.
+     * @return The queued {@link PerformanceSubmission}, whose id is the tracking id.
+     * @throws EmployeeNotFoundException if the employee with the given ID is not found.
+     */
+    @Override
+    public PerformanceSubmission submitPerformance(PerformanceResponse performanceResponse, int id) {
+        if (!employeeRepository.existsById(id)) {
+            throw new EmployeeNotFoundException(MessageConstant.EMPLOYEE_NOT_FOUND+id);
+        }
+        Instant now = Instant.now();
+        PerformanceSubmission submission = PerformanceSubmission.builder()
+                .employeeId(id)
+                .rating(performanceResponse.getRating())
+                .feedback(performanceResponse.getFeedback())
+                .status(PerformanceSubmission.Status.PENDING)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+        return submissionRepository.save(submission);
+    }
+
+    /**
+     * Returns the delivery status of a queued performance record.
+     * 
+     * @param trackingId The id returned when the record was submitted.
+     * @return The {@link PerformanceSubmission}.
+     * @throws PerformanceSubmissionNotFoundException if no submission has the given id.
+     */
+    @Override
+    public PerformanceSubmission getPerformanceSubmission(long trackingId) {
+        return submissionRepository.findById(trackingId)
+                .orElseThrow(() -> new PerformanceSubmissionNotFoundException(MessageConstant.SUBMISSION_NOT_FOUND+trackingId));
+    }
 }
@@ -0,0 +1,166 @@
+package com.mindfire.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mindfire.cache.PerformanceCache;
+import com.mindfire.client.PerformanceClient;
+import com.mindfire.entity.PerformanceSubmission;
+import com.mindfire.model.PerformanceResponse;
+import com.mindfire.repo.PerformanceSubmissionRepository;
+
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PostConstruct;
+/***
+ * Drains the local performance submission queue to PERFORMANCE-SERVICE.
+ * Due submissions are claimed in a short transaction that marks them IN_FLIGHT for
+ * ems.performance.submission.lease, then delivered through the performanceBreaker circuit breaker
+ * with no transaction or connection held, and each outcome is recorded in a transaction of its own.
+ * Claims left by a dispatcher that stopped mid-batch expire and are picked up again.
+ * Failed deliveries are retried with exponential backoff until ems.performance.submission.max-attempts
+ * is reached; client errors (4xx) are not retried.
+ */
+@Component
+public class PerformanceSubmissionDispatcher {
+	
+	private static final Logger log = LoggerFactory.getLogger(PerformanceSubmissionDispatcher.class);
+	
+	private static final List<PerformanceSubmission.Status> CLAIMABLE =
+			List.of(PerformanceSubmission.Status.PENDING, PerformanceSubmission.Status.IN_FLIGHT);
+	
+	@Autowired
+	private PerformanceSubmissionRepository submissionRepository;
+	@Autowired
+	private PerformanceClient performanceClient;
+	@Autowired
+	private PerformanceCache performanceCache;
+	@Autowired
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Value("${ems.performance.submission.batch-size:20}")
+	private int batchSize;
+	@Value("${ems.performance.submission.max-attempts:8}")
+	private int maxAttempts;
+	@Value("${ems.performance.submission.initial-backoff:1s}")
+	private Duration initialBackoff;
+	@Value("${ems.performance.submission.max-backoff:5m}")
+	private Duration maxBackoff;
+	@Value("${ems.performance.submission.lease:2m}")
+	private Duration lease;
+	
+	private CircuitBreaker circuitBreaker;
+	
+	@PostConstruct
+	public void init() {
+		circuitBreaker = circuitBreakerRegistry.circuitBreaker("performanceBreaker");
+	}
+	/***
+	 * Claims one batch of due submissions and delivers them one by one.
+	 */
+	@Scheduled(fixedDelayString = "${ems.performance.submission.poll-interval:1s}")
+	public void dispatch() {
+		List<PerformanceSubmission> claimed = transactionTemplate.execute(status -> claim(Instant.now()));
+		for (int i = 0; i < claimed.size(); i++) {
+			if (!deliver(claimed.get(i))) {
+				// The breaker is open: hand the rest of the batch back for a later run
+				claimed.subList(i, claimed.size()).forEach(this::release);
+				break;
+			}
+		}
+	}
+	/**
+	 * Marks the due submissions IN_FLIGHT until the lease expires. Starting an attempt counts it,
+	 * so the attempt count also tells this claim apart from a later one on the same row.
+	 */
+	private List<PerformanceSubmission> claim(Instant now) {
+		List<PerformanceSubmission> due = submissionRepository.lockDue(CLAIMABLE, now, PageRequest.of(0, batchSize));
+		for (PerformanceSubmission submission : due) {
+			submission.setStatus(PerformanceSubmission.Status.IN_FLIGHT);
+			submission.setAttempts(submission.getAttempts() + 1);
+			submission.setNextAttemptAt(now.plus(lease));
+		}
+		return due;
+	}
+	
+	private boolean deliver(PerformanceSubmission submission) {
+		PerformanceResponse performance = PerformanceResponse.builder()
+				.rating(submission.getRating())
+				.feedback(submission.getFeedback())
+				.employeeId(submission.getEmployeeId())
+				.build();
+		PerformanceResponse created;
+		try {
+			created = circuitBreaker.executeSupplier(
+					() -> performanceClient.addPerformanceResponse(performance, submission.getEmployeeId()));
+		} catch (CallNotPermittedException e) {
+			return false;
+		} catch (RuntimeException e) {
+			record(submission, current -> failed(current, e));
+			return true;
+		}
+		record(submission, current -> {
+			current.setStatus(PerformanceSubmission.Status.SENT);
+			current.setPerformanceId(created == null ? null : created.getId());
+			current.setLastError(null);
+		});
+		performanceCache.invalidate(submission.getEmployeeId());
+		return true;
+	}
+	
+	private void failed(PerformanceSubmission submission, RuntimeException e) {
+		boolean clientError = e instanceof FeignException feign && feign.status() >= 400 && feign.status() < 500;
+		if (e instanceof FeignException feign && !feign.contentUTF8().isEmpty()) {
+			submission.setLastError(feign.contentUTF8());
+		} else {
+			submission.setLastError(String.valueOf(e.getMessage()));
+		}
+		if (clientError || submission.getAttempts() >= maxAttempts) {
+			submission.setStatus(PerformanceSubmission.Status.FAILED);
+			log.warn("Giving up on performance submission {} after {} attempts", submission.getId(), submission.getAttempts());
+		} else {
+			submission.setStatus(PerformanceSubmission.Status.PENDING);
+			submission.setNextAttemptAt(Instant.now().plus(backoff(submission.getAttempts())));
+		}
+	}
+	/**
+	 * Returns a claimed submission to the queue without counting the attempt.
+	 */
+	private void release(PerformanceSubmission submission) {
+		record(submission, current -> {
+			current.setStatus(PerformanceSubmission.Status.PENDING);
+			current.setAttempts(current.getAttempts() - 1);
+			current.setNextAttemptAt(Instant.now());
+		});
+	}
+	/**
+	 * Applies {@code outcome} to the stored submission in its own transaction, unless the claim
+	 * expired and the row was claimed again or finished elsewhere in the meantime.
+	 */
+	private void record(PerformanceSubmission claimed, Consumer<PerformanceSubmission> outcome) {
+		transactionTemplate.executeWithoutResult(status -> submissionRepository.findById(claimed.getId())
+				.filter(current -> current.getStatus() == PerformanceSubmission.Status.IN_FLIGHT
+						&& current.getAttempts() == claimed.getAttempts())
+				.ifPresentOrElse(outcome,
+						() -> log.warn("Claim on performance submission {} expired before its outcome was recorded", claimed.getId())));
+	}
+	
+	private Duration backoff(int attempts) {
+		Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+	}
+}
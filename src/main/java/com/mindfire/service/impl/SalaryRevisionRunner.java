@@ -0,0 +1,157 @@
+package com.mindfire.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mindfire.event.EmployeeChangedEvent;
+import com.mindfire.model.SalaryRevisionJob;
+import com.mindfire.model.SalaryRevisionScope;
+import com.mindfire.repo.EmployeeRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+/***
+ * Runs bulk salary revisions in id-ordered chunks of ems.salary-revision.chunk-size employees.
+ * Each chunk is a short transaction of its own, so concurrent single-employee updates only ever
+ * wait for one chunk, and caches and read models are refreshed for the revised ids after each chunk.
+ * Background jobs run one at a time on a dedicated thread, in submission order; a cancelled job
+ * stops after the chunk in progress and keeps the chunks already committed. Queued and running
+ * jobs are never evicted; finished ones are remembered for ems.salary-revision.retention after
+ * they finish. Callers are handed snapshots of a job, never the instance the worker updates.
+ */
+@Component
+public class SalaryRevisionRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(SalaryRevisionRunner.class);
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Value("${ems.salary-revision.chunk-size:1000}")
+	private int chunkSize;
+	@Value("${ems.salary-revision.retention:1h}")
+	private Duration retention;
+
+	private Cache<String, SalaryRevisionJob> jobs;
+
+	private ThreadPoolTaskExecutor executor;
+
+	@PostConstruct
+	public void init() {
+		// Jobs are put again when they finish, which starts their retention and makes them evictable
+		jobs = Caffeine.newBuilder()
+				.expireAfter(new RetainFinished())
+				.maximumWeight(1000)
+				.weigher((String id, SalaryRevisionJob job) -> job.isFinished() ? 1 : 0)
+				.build();
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setThreadNamePrefix("salary-revision-");
+		executor.initialize();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		jobs.asMap().values().forEach(SalaryRevisionJob::requestCancel);
+		executor.shutdown();
+	}
+	/**
+	 * Queues a revision and returns its handle straight away.
+	 */
+	public SalaryRevisionJob submit(double percentage, SalaryRevisionScope scope) {
+		SalaryRevisionJob job = create(percentage, scope);
+		executor.execute(() -> run(job));
+		return job.snapshot();
+	}
+	/**
+	 * Runs a revision on the calling thread and returns once every chunk is committed.
+	 */
+	public SalaryRevisionJob runNow(double percentage, SalaryRevisionScope scope) {
+		SalaryRevisionJob job = create(percentage, scope);
+		run(job);
+		return job.snapshot();
+	}
+
+	public Optional<SalaryRevisionJob> get(String jobId) {
+		return Optional.ofNullable(jobs.getIfPresent(jobId)).map(SalaryRevisionJob::snapshot);
+	}
+	/**
+	 * Asks a job to stop. A queued job never starts; a running one stops after its current chunk.
+	 */
+	public Optional<SalaryRevisionJob> cancel(String jobId) {
+		SalaryRevisionJob job = jobs.getIfPresent(jobId);
+		if (job == null) {
+			return Optional.empty();
+		}
+		job.requestCancel();
+		return Optional.of(job.snapshot());
+	}
+
+	private SalaryRevisionJob create(double percentage, SalaryRevisionScope scope) {
+		SalaryRevisionJob job = new SalaryRevisionJob(UUID.randomUUID().toString(), percentage, scope, Instant.now(),
+				employeeRepository.countInScope(scope));
+		jobs.put(job.getId(), job);
+		return job;
+	}
+
+	private void run(SalaryRevisionJob job) {
+		job.start(Instant.now());
+		SalaryRevisionJob.Status outcome = SalaryRevisionJob.Status.FAILED;
+		String error = null;
+		try {
+			int afterId = 0;
+			while (!job.isCancelRequested()) {
+				List<Integer> revised = employeeRepository.reviseSalaryChunk(job.getPercentage(), job.getScope(), afterId, chunkSize);
+				if (revised.isEmpty()) {
+					break;
+				}
+				afterId = revised.get(revised.size() - 1);
+				job.recordChunk(revised.size(), afterId);
+				eventPublisher.publishEvent(EmployeeChangedEvent.of(revised));
+			}
+			outcome = job.isCancelRequested() ? SalaryRevisionJob.Status.CANCELLED : SalaryRevisionJob.Status.COMPLETED;
+		} catch (RuntimeException e) {
+			error = e.getMessage();
+			log.warn("Salary revision {} failed after {} employees", job.getId(), job.getRevisedEmployees(), e);
+		} finally {
+			job.finish(outcome, error, Instant.now());
+			jobs.put(job.getId(), job);
+		}
+	}
+	/**
+	 * Keeps unfinished jobs indefinitely and finished ones for the retention from their last write.
+	 */
+	private class RetainFinished implements Expiry<String, SalaryRevisionJob> {
+
+		@Override
+		public long expireAfterCreate(String id, SalaryRevisionJob job, long currentTime) {
+			return job.isFinished() ? retention.toNanos() : Long.MAX_VALUE;
+		}
+
+		@Override
+		public long expireAfterUpdate(String id, SalaryRevisionJob job, long currentTime, long currentDuration) {
+			return expireAfterCreate(id, job, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String id, SalaryRevisionJob job, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
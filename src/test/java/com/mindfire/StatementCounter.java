@@ -0,0 +1,27 @@
+package com.mindfire;
+
+import com.mindfire.metrics.QueryBudgetInspector;
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector};
+ * counting per thread keeps background work of the application out of the counts.
+ * Statements are still passed on to {@link QueryBudgetInspector}, so query budgets keep reporting them.
+ */
+public class StatementCounter extends QueryBudgetInspector {
+
+	private static final ThreadLocal<Long> COUNT = ThreadLocal.withInitial(() -> 0L);
+
+	public static void reset() {
+		COUNT.set(0L);
+	}
+
+	public static long count() {
+		return COUNT.get();
+	}
+
+	@Override
+	public String inspect(String sql) {
+		COUNT.set(COUNT.get() + 1);
+		return super.inspect(sql);
+	}
+}
@@ -0,0 +1,61 @@
+package com.mindfire;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+/**
+ * Builders for the departments and employees the integration tests seed.
+ * Every name and email takes a number from one sequence shared by all test classes, so rows added
+ * by different tests never collide on the unique columns, even in a context reused between classes.
+ * The builders come back filled in and unsaved; tests override what they care about and save them
+ * through the repositories or the service layer.
+ */
+public final class TestData {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	private TestData() {
+	}
+	/**
+	 * Next number of the shared sequence, for names and values that must not repeat.
+	 */
+	public static int next() {
+		return SEQUENCE.incrementAndGet();
+	}
+
+	public static String email(String prefix) {
+		return prefix.toLowerCase() + next() + "@example.com";
+	}
+	/**
+	 * A department named {@code "<prefix> <n>"} on floor n, with no members.
+	 */
+	public static Department.DepartmentBuilder department(String prefix) {
+		int n = next();
+		return Department.builder()
+				.name(prefix + " " + n)
+				.location("Floor " + n)
+				.employees(new HashSet<>());
+	}
+	/**
+	 * An employee named {@code "<prefix> <n>"} in the given departments, earning 5000 + n and
+	 * joined a month ago.
+	 */
+	public static Employee.EmployeeBuilder employee(String prefix, Department... departments) {
+		return employee(prefix, Arrays.asList(departments));
+	}
+
+	public static Employee.EmployeeBuilder employee(String prefix, Collection<Department> departments) {
+		int n = next();
+		return Employee.builder()
+				.name(prefix + " " + n)
+				.email(prefix.toLowerCase() + n + "@example.com")
+				.salary(5000 + n)
+				.dateOfJoining(LocalDate.now().minusMonths(1))
+				.departments(new HashSet<>(departments));
+	}
+}
@@ -0,0 +1,119 @@
+package com.mindfire.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.EmployeeManagementSystemApplication;
+/**
+ * Boots the application on an embedded H2 database with the {@code test} profile, next to a
+ * {@link PerformanceServiceStub}, and seeds it through the public API.
+ */
+public class BenchmarkEnvironment implements AutoCloseable {
+
+	private static final int SEED_CHUNK_SIZE = 500;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final PerformanceServiceStub performanceService;
+
+	private final ConfigurableApplicationContext context;
+
+	private final LoadDriver driver;
+
+	private final List<Integer> departmentIds = new ArrayList<>();
+
+	private final List<Integer> employeeIds = new ArrayList<>();
+	/**
+	 * @param properties application properties for this run, on top of the {@code test} profile
+	 * @param stubLatency how long the performance service stub takes to answer
+	 * @param concurrency number of load driver workers
+	 */
+	public BenchmarkEnvironment(Map<String, Object> properties, Duration stubLatency, int concurrency) throws Exception {
+		this.performanceService = new PerformanceServiceStub(stubLatency);
+		Map<String, Object> runProperties = new HashMap<>(properties);
+		runProperties.put("spring.profiles.active", "test");
+		runProperties.put("server.port", 0);
+		runProperties.put("spring.jpa.show-sql", false);
+		runProperties.put("ems.test.performance-service.port", performanceService.getPort());
+		String[] args = runProperties.entrySet().stream()
+				.map(property -> "--" + property.getKey() + "=" + property.getValue())
+				.toArray(String[]::new);
+		try {
+			this.context = new SpringApplicationBuilder(EmployeeManagementSystemApplication.class).run(args);
+		} catch (RuntimeException e) {
+			performanceService.close();
+			throw e;
+		}
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		this.driver = new LoadDriver(URI.create("http://localhost:" + port), concurrency);
+	}
+	/**
+	 * Creates the departments, then the employees in bulk chunks, each employee in one department.
+	 */
+	public void seed(int departments, int employees) throws Exception {
+		for (int i = 0; i < departments; i++) {
+			String body = "{\"name\":\"Department " + i + "\",\"location\":\"Floor " + i + "\"}";
+			JsonNode department = objectMapper.readTree(driver.send(json(HttpRequest.newBuilder(driver.uri("/department/add")), body)));
+			departmentIds.add(department.get("id").asInt());
+		}
+		for (int from = 0; from < employees; from += SEED_CHUNK_SIZE) {
+			StringBuilder body = new StringBuilder("[");
+			for (int i = from; i < Math.min(from + SEED_CHUNK_SIZE, employees); i++) {
+				if (i > from) {
+					body.append(',');
+				}
+				body.append("{\"name\":\"Employee ").append(i)
+						.append("\",\"email\":\"employee").append(i).append("@example.com\"")
+						.append(",\"salary\":").append(30000 + (i * 7919) % 120000)
+						.append(",\"dateOfJoining\":\"").append(LocalDate.of(2015, 1, 1).plusDays(i % 3650)).append('"')
+						.append(",\"departments\":[{\"id\":").append(departmentIds.get(i % departments)).append("}]}");
+			}
+			body.append(']');
+			for (JsonNode result : objectMapper.readTree(driver.send(json(HttpRequest.newBuilder(driver.uri("/employee/bulk")), body.toString())))) {
+				employeeIds.add(result.get("id").asInt());
+			}
+		}
+	}
+
+	public static HttpRequest.Builder json(HttpRequest.Builder request, String body) {
+		return request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+	}
+
+	public ConfigurableApplicationContext getContext() {
+		return context;
+	}
+
+	public PerformanceServiceStub getPerformanceService() {
+		return performanceService;
+	}
+
+	public LoadDriver getDriver() {
+		return driver;
+	}
+
+	public List<Integer> getDepartmentIds() {
+		return departmentIds;
+	}
+
+	public List<Integer> getEmployeeIds() {
+		return employeeIds;
+	}
+
+	@Override
+	public void close() {
+		context.close();
+		performanceService.close();
+	}
+}
@@ -0,0 +1,29 @@
+package com.mindfire.benchmark;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mindfire.service.DepartmentService;
+/**
+ * Service-level timings of the department hot paths against a {@link SeededDatabase}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class DepartmentServiceBenchmark {
+
+	@Benchmark
+	public HashMap<String, Integer> countEmployeeOfEachDepartment(SeededDatabase database) {
+		return database.getBean(DepartmentService.class).countEmployeeOfEachDepartment();
+	}
+}
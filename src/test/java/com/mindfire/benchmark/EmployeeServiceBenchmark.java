@@ -0,0 +1,142 @@
+package com.mindfire.benchmark;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.model.EmployeeSummary;
+import com.mindfire.repo.EmployeeRepository;
+import com.mindfire.service.EmployeeService;
+/**
+ * Service-level timings of the employee hot paths against a {@link SeededDatabase}.
+ * Mutating benchmarks keep the data set stable: transfers move an employee to the next
+ * department and remember where it went, and salary revisions alternate between a raise and
+ * the matching cut.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class EmployeeServiceBenchmark {
+
+	private EmployeeService employeeService;
+
+	private EmployeeRepository employeeRepository;
+
+	private int[] currentDepartment;
+
+	private int nextEmail;
+
+	private boolean raise;
+
+	@Setup(Level.Trial)
+	public void setUp(SeededDatabase database) {
+		employeeService = database.getBean(EmployeeService.class);
+		employeeRepository = database.getBean(EmployeeRepository.class);
+		currentDepartment = new int[database.employees + 1];
+		for (int id = 1; id <= database.employees; id++) {
+			currentDepartment[id] = database.departmentOf(id);
+		}
+	}
+
+	@Benchmark
+	public Employee addEmployee(SeededDatabase database) {
+		int departmentId = ThreadLocalRandom.current().nextInt(database.departments) + 1;
+		Set<Department> departments = new HashSet<>();
+		departments.add(Department.builder().id(departmentId).employees(new HashSet<>()).build());
+		Employee employee = Employee.builder()
+				.name("Benchmark " + nextEmail)
+				.email("benchmark" + nextEmail++ + "@example.com")
+				.salary(50000)
+				.dateOfJoining(LocalDate.now())
+				.departments(departments)
+				.build();
+		return employeeService.addEmployee(employee);
+	}
+
+	@Benchmark
+	public List<Employee> getAllEmployees() {
+		return employeeService.getAllEmployees();
+	}
+
+	@Benchmark
+	public List<Employee> getAllEmployeesBySalary() {
+		// About the top 1% of seeded salaries
+		return employeeService.getAllEmployeesBySalary(148800);
+	}
+
+	@Benchmark
+	public List<Employee> getAllEmployeeByJoiningDate() {
+		// The last month of seeded joining dates
+		return employeeService.getAllEmployeeByJoiningDate(LocalDate.of(2025, 6, 1));
+	}
+
+	@Benchmark
+	public Page<Employee> getEmployeesInBatches(SeededDatabase database) {
+		int pageSize = 50;
+		return employeeService.getEmployeesInBatches(ThreadLocalRandom.current().nextInt(database.employees / pageSize), pageSize);
+	}
+
+	@Benchmark
+	public void employeeTransfer(SeededDatabase database) {
+		int employeeId = ThreadLocalRandom.current().nextInt(database.employees) + 1;
+		int from = currentDepartment[employeeId];
+		int to = from % database.departments + 1;
+		employeeService.employeeTransfer(employeeId, from, to);
+		currentDepartment[employeeId] = to;
+	}
+
+	@Benchmark
+	public void updateBulkSalary() {
+		raise = !raise;
+		employeeService.updateBulkSalary(raise ? 10 : -100.0 / 11);
+	}
+
+	@Benchmark
+	public List<Employee> findEmployeesWithTop3DistinctSalaries() {
+		return employeeRepository.findEmployeesWithTop3DistinctSalaries();
+	}
+
+	@Benchmark
+	public List<Employee> getTop3HighestPaidEmployees() {
+		return employeeService.getTop3HighestPaidEmployees();
+	}
+
+	@Benchmark
+	public List<EmployeeSummary> searchEmployeesByPrefix(SeededDatabase database) {
+		// An email prefix such as "employee4711" matches that employee and every id extending it
+		return employeeService.searchEmployees("employee" + (ThreadLocalRandom.current().nextInt(database.employees) + 1), false, 10);
+	}
+
+	@Benchmark
+	public List<EmployeeSummary> searchEmployeesByCommonPrefix() {
+		// Matches every seeded employee
+		return employeeService.searchEmployees("emp", false, 10);
+	}
+
+	@Benchmark
+	public List<EmployeeSummary> searchEmployeesWithTypo(SeededDatabase database) {
+		// Transposed letters, so only the fuzzy matches can find the employee
+		return employeeService.searchEmployees("emplyoee " + (ThreadLocalRandom.current().nextInt(database.employees) + 1), true, 10);
+	}
+}
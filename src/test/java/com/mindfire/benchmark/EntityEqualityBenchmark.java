@@ -0,0 +1,92 @@
+package com.mindfire.benchmark;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+/**
+ * In-memory membership operations on a department with {@code members} employees, each of whom
+ * belongs to that department in turn. The probe is a separate instance with the same id as one
+ * member, the way an employee loaded in another persistence context would be. With id-based
+ * equality the timings stay flat as {@code members} grows; with field-based equality over the
+ * associations, hashing the probe would walk the department and every one of its members.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class EntityEqualityBenchmark {
+
+	@Param({ "100", "10000", "100000" })
+	public int members;
+
+	private Department department;
+
+	private Employee member;
+
+	private Employee probe;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		department = Department.builder().id(1).name("Large").location("Campus").employees(new HashSet<>()).build();
+		for (int id = 1; id <= members; id++) {
+			Employee employee = employee(id);
+			employee.getDepartments().add(department);
+			department.getEmployees().add(employee);
+			if (id == members / 2) {
+				member = employee;
+			}
+		}
+		probe = employee(member.getId());
+		probe.getDepartments().add(department);
+	}
+
+	private static Employee employee(int id) {
+		return Employee.builder()
+				.id(id)
+				.name("Employee " + id)
+				.email("employee" + id + "@example.com")
+				.salary(30000 + id)
+				.dateOfJoining(LocalDate.of(2020, 1, 1))
+				.departments(new HashSet<>())
+				.build();
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return department.getEmployees().contains(probe);
+	}
+
+	@Benchmark
+	public boolean removeAndAdd() {
+		department.getEmployees().remove(probe);
+		return department.getEmployees().add(member);
+	}
+
+	@Benchmark
+	public int hashEmployee() {
+		return probe.hashCode();
+	}
+
+	@Benchmark
+	public String describeEmployee() {
+		return probe.toString();
+	}
+}
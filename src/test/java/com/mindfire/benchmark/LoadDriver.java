@@ -0,0 +1,177 @@
+package com.mindfire.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+/**
+ * Closed-loop HTTP load generator.
+ * A fixed number of workers each send one request, wait for the response and immediately send
+ * the next, picking operations at random by weight. Latencies are recorded per worker and merged
+ * at the end, so recording does not add contention to the measurement.
+ */
+public class LoadDriver {
+
+	/**
+	 * One kind of request in the workload mix.
+	 */
+	public record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest.Builder> request) {
+	}
+	/**
+	 * Latency and throughput of one operation, or of the whole mix.
+	 */
+	public record Stats(long requests, long errors, double throughput, double p50Millis, double p90Millis,
+			double p99Millis, double maxMillis) {
+	}
+
+	private final URI baseUri;
+
+	private final int concurrency;
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(5))
+			.version(HttpClient.Version.HTTP_1_1)
+			.build();
+
+	public LoadDriver(URI baseUri, int concurrency) {
+		this.baseUri = baseUri;
+		this.concurrency = concurrency;
+	}
+
+	public URI uri(String path) {
+		return baseUri.resolve(path);
+	}
+	/**
+	 * Sends a single request and returns the response body, failing on any non-2xx status.
+	 */
+	public String send(HttpRequest.Builder request) throws Exception {
+		HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() / 100 != 2) {
+			throw new IllegalStateException(response.statusCode() + " " + response.body());
+		}
+		return response.body();
+	}
+	/**
+	 * Runs the mix unmeasured for {@code warmup}, then measured for {@code duration}.
+	 * Returns stats keyed by operation name, plus a {@code total} entry for the whole mix.
+	 */
+	public Map<String, Stats> run(List<Operation> operations, Duration warmup, Duration duration) throws InterruptedException {
+		measure(operations, warmup);
+		return measure(operations, duration);
+	}
+	/**
+	 * Runs the mix for {@code duration} and returns stats keyed by operation name, plus a
+	 * {@code total} entry for the whole mix.
+	 */
+	public Map<String, Stats> measure(List<Operation> operations, Duration duration) throws InterruptedException {
+		int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+		long endNanos = System.nanoTime() + duration.toNanos();
+		List<Worker> workers = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			Worker worker = new Worker(operations, totalWeight, endNanos);
+			worker.thread.start();
+			workers.add(worker);
+		}
+		for (Worker worker : workers) {
+			worker.thread.join();
+		}
+		double seconds = duration.toNanos() / 1e9;
+		Map<String, Stats> stats = new LinkedHashMap<>();
+		Recording total = new Recording();
+		for (Operation operation : operations) {
+			Recording merged = new Recording();
+			workers.forEach(worker -> merged.addAll(worker.recordings.get(operation.name())));
+			total.addAll(merged);
+			stats.put(operation.name(), merged.stats(seconds));
+		}
+		stats.put("total", total.stats(seconds));
+		return stats;
+	}
+
+	private final class Worker {
+
+		private final Thread thread;
+
+		private final Map<String, Recording> recordings = new HashMap<>();
+
+		private Worker(List<Operation> operations, int totalWeight, long endNanos) {
+			operations.forEach(operation -> recordings.put(operation.name(), new Recording()));
+			this.thread = new Thread(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				while (System.nanoTime() < endNanos) {
+					Operation operation = pick(operations, totalWeight, random);
+					HttpRequest request = operation.request().apply(random).timeout(Duration.ofSeconds(30)).build();
+					long start = System.nanoTime();
+					boolean ok;
+					try {
+						ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+					} catch (Exception e) {
+						ok = false;
+					}
+					recordings.get(operation.name()).add(System.nanoTime() - start, ok);
+				}
+			}, "load-driver");
+		}
+	}
+
+	private static Operation pick(List<Operation> operations, int totalWeight, ThreadLocalRandom random) {
+		int ticket = random.nextInt(totalWeight);
+		for (Operation operation : operations) {
+			ticket -= operation.weight();
+			if (ticket < 0) {
+				return operation;
+			}
+		}
+		return operations.get(operations.size() - 1);
+	}
+
+	private static final class Recording {
+
+		private long[] latencies = new long[1024];
+
+		private int size;
+
+		private long errors;
+
+		private void add(long latencyNanos, boolean ok) {
+			if (size == latencies.length) {
+				latencies = Arrays.copyOf(latencies, size * 2);
+			}
+			latencies[size++] = latencyNanos;
+			if (!ok) {
+				errors++;
+			}
+		}
+
+		private void addAll(Recording other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.latencies[i], true);
+			}
+			errors += other.errors;
+		}
+
+		private Stats stats(double seconds) {
+			long[] sorted = Arrays.copyOf(latencies, size);
+			Arrays.sort(sorted);
+			return new Stats(size, errors, size / seconds, percentile(sorted, 0.50), percentile(sorted, 0.90),
+					percentile(sorted, 0.99), size == 0 ? 0 : sorted[size - 1] / 1e6);
+		}
+
+		private static double percentile(long[] sorted, double quantile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(quantile * sorted.length) - 1;
+			return sorted[Math.max(0, index)] / 1e6;
+		}
+	}
+}
@@ -0,0 +1,310 @@
+package com.mindfire.benchmark;
+
+import java.io.File;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mindfire.benchmark.LoadDriver.Operation;
+import com.mindfire.benchmark.LoadDriver.Stats;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+/**
+ * End-to-end load test of every {@code /employee} and {@code /department} endpoint.
+ *
+ * The application runs on H2 next to a {@link PerformanceServiceStub}, with the Resilience4j
+ * settings of the {@code test} profile, which mirror production. A mixed read and write workload
+ * is driven through a sequence of phases; each phase sets the stub's error rate, so a run can
+ * cover normal operation, a downstream outage and the recovery after it. For each phase the
+ * harness reports throughput and latency percentiles per endpoint, together with circuit-breaker
+ * state transitions, bulkhead rejections and retries. Results are printed and written as JSON.
+ *
+ * Run with {@code mvn -Pbenchmark test-compile exec:java@load-test}. Tunable through system
+ * properties: {@code loadtest.phases} as {@code name:seconds:errorRate} entries separated by
+ * commas, {@code loadtest.concurrency}, {@code loadtest.warmup-seconds},
+ * {@code loadtest.departments}, {@code loadtest.employees}, {@code loadtest.stub-latency-ms} and
+ * {@code loadtest.output}. Application properties, for example the Resilience4j ones, can be
+ * overridden with plain {@code -D} system properties.
+ */
+public class LoadTestHarness {
+
+	private record Phase(String name, Duration duration, double errorRate) {
+	}
+
+	private record Transition(String phase, long atMillis, String from, String to) {
+	}
+
+	private final BenchmarkEnvironment environment;
+
+	private final LoadDriver driver;
+
+	private final AtomicInteger nextEmail = new AtomicInteger();
+
+	private final AtomicInteger nextDepartment = new AtomicInteger();
+
+	private final ConcurrentLinkedQueue<Integer> deletableEmployees = new ConcurrentLinkedQueue<>();
+
+	private final ConcurrentLinkedQueue<Integer> deletableDepartments = new ConcurrentLinkedQueue<>();
+
+	private final ConcurrentLinkedQueue<int[]> transferableEmployees = new ConcurrentLinkedQueue<>();
+
+	private final List<Integer> activeEmployees = new ArrayList<>();
+
+	private final Map<Integer, Integer> activeEmployeeIndex = new LinkedHashMap<>();
+
+	private final List<Long> submissionIds = new ArrayList<>();
+
+	private LoadTestHarness(BenchmarkEnvironment environment) {
+		this.environment = environment;
+		this.driver = environment.getDriver();
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<Phase> phases = parsePhases(System.getProperty("loadtest.phases", "steady:60:0,outage:30:0.8,recovery:60:0"));
+		int concurrency = Integer.getInteger("loadtest.concurrency", 100);
+		Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 15));
+		int departments = Integer.getInteger("loadtest.departments", 20);
+		int employees = Integer.getInteger("loadtest.employees", 5000);
+		Duration stubLatency = Duration.ofMillis(Integer.getInteger("loadtest.stub-latency-ms", 30));
+		File output = new File(System.getProperty("loadtest.output", "target/benchmarks/load-test.json"));
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("java", Runtime.version().toString());
+		report.put("concurrency", concurrency);
+		report.put("employees", employees);
+		report.put("departments", departments);
+		report.put("stubLatencyMillis", stubLatency.toMillis());
+		try (BenchmarkEnvironment environment = new BenchmarkEnvironment(Map.of(), stubLatency, concurrency)) {
+			LoadTestHarness harness = new LoadTestHarness(environment);
+			harness.seed(departments, employees);
+			report.put("phases", harness.run(phases, warmup));
+		}
+
+		output.getParentFile().mkdirs();
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+		System.out.println("Results written to " + output.getPath());
+	}
+
+	private static List<Phase> parsePhases(String spec) {
+		List<Phase> phases = new ArrayList<>();
+		for (String entry : spec.split(",")) {
+			String[] parts = entry.trim().split(":");
+			phases.add(new Phase(parts[0], Duration.ofSeconds(Long.parseLong(parts[1])), Double.parseDouble(parts[2])));
+		}
+		return phases;
+	}
+	/**
+	 * Seeds the data set and splits the employees into disjoint pools, so that deletes and
+	 * transfers never race with each other or with the reads.
+	 */
+	private void seed(int departments, int employees) throws Exception {
+		environment.seed(departments, employees);
+		List<Integer> employeeIds = environment.getEmployeeIds();
+		List<Integer> departmentIds = environment.getDepartmentIds();
+		for (int i = 0; i < employeeIds.size(); i++) {
+			int employeeId = employeeIds.get(i);
+			if (i % 5 == 0) {
+				deletableEmployees.add(employeeId);
+			} else if (i % 5 == 1) {
+				transferableEmployees.add(new int[] { employeeId, departmentIds.get(i % departments) });
+			} else {
+				activeEmployeeIndex.put(employeeId, i);
+				activeEmployees.add(employeeId);
+			}
+		}
+		for (int i = 0; i < Integer.getInteger("loadtest.scratch-departments", 200); i++) {
+			String body = "{\"name\":\"Scratch " + i + "\",\"location\":\"Basement\"}";
+			String created = driver.send(BenchmarkEnvironment.json(HttpRequest.newBuilder(driver.uri("/department/add")), body));
+			deletableDepartments.add(new ObjectMapper().readTree(created).get("id").asInt());
+		}
+		for (int i = 0; i < 20; i++) {
+			String body = "{\"rating\":3,\"feedback\":\"Seeded\"}";
+			String created = driver.send(BenchmarkEnvironment.json(HttpRequest.newBuilder(
+					driver.uri("/employee/addPerformance/" + activeEmployees.get(i) + "/async")), body));
+			submissionIds.add(new ObjectMapper().readTree(created).get("id").asLong());
+		}
+	}
+
+	private List<Map<String, Object>> run(List<Phase> phases, Duration warmup) throws InterruptedException {
+		CircuitBreaker circuitBreaker = environment.getContext().getBean(CircuitBreakerRegistry.class).circuitBreaker("performanceBreaker");
+		Bulkhead bulkhead = environment.getContext().getBean(BulkheadRegistry.class).bulkhead("performanceBulkHead");
+		Retry retry = environment.getContext().getBean(RetryRegistry.class).retry("retryPerformance");
+		AtomicLong notPermittedCalls = new AtomicLong();
+		AtomicLong bulkheadRejections = new AtomicLong();
+		AtomicLong retries = new AtomicLong();
+		List<Transition> transitions = new CopyOnWriteArrayList<>();
+		String[] currentPhase = { "warmup" };
+		long startMillis = System.currentTimeMillis();
+		circuitBreaker.getEventPublisher().onStateTransition(event -> transitions.add(new Transition(currentPhase[0],
+				System.currentTimeMillis() - startMillis, event.getStateTransition().getFromState().name(),
+				event.getStateTransition().getToState().name())));
+		circuitBreaker.getEventPublisher().onCallNotPermitted(event -> notPermittedCalls.incrementAndGet());
+		bulkhead.getEventPublisher().onCallRejected(event -> bulkheadRejections.incrementAndGet());
+		retry.getEventPublisher().onRetry(event -> retries.incrementAndGet());
+
+		List<Operation> workload = workload();
+		driver.measure(workload, warmup);
+		List<Map<String, Object>> results = new ArrayList<>();
+		for (Phase phase : phases) {
+			currentPhase[0] = phase.name();
+			environment.getPerformanceService().setErrorRate(phase.errorRate());
+			int transitionsBefore = transitions.size();
+			long rejectionsBefore = bulkheadRejections.get();
+			long retriesBefore = retries.get();
+			long notPermittedBefore = notPermittedCalls.get();
+			System.out.printf("Phase %s: %ds at error rate %.2f%n", phase.name(), phase.duration().toSeconds(), phase.errorRate());
+			Map<String, Stats> stats = driver.measure(workload, phase.duration());
+
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("name", phase.name());
+			result.put("durationSeconds", phase.duration().toSeconds());
+			result.put("errorRate", phase.errorRate());
+			result.put("circuitBreakerTransitions", new ArrayList<>(transitions.subList(transitionsBefore, transitions.size())));
+			result.put("circuitBreakerStateAtEnd", circuitBreaker.getState().name());
+			result.put("circuitBreakerNotPermittedCalls", notPermittedCalls.get() - notPermittedBefore);
+			result.put("bulkheadRejections", bulkheadRejections.get() - rejectionsBefore);
+			result.put("retries", retries.get() - retriesBefore);
+			result.put("operations", stats);
+			results.add(result);
+			print(result, stats);
+		}
+		return results;
+	}
+
+	private List<Operation> workload() {
+		List<Integer> departmentIds = environment.getDepartmentIds();
+		List<Operation> operations = new ArrayList<>();
+		// Reads
+		operations.add(get("employee.getById", 200, random -> "/employee/getById/" + activeEmployee(random)));
+		operations.add(get("employee.getInBatches", 60, random -> "/employee/get-in-batches/" + random.nextInt(50) + "/50"));
+		operations.add(get("employee.seek", 40, random -> "/employee/get-in-batches/seek?pageSize=50"));
+		operations.add(get("employee.getWithSalary", 15, random -> "/employee/getWithSalary/" + (140000 + random.nextInt(10000))));
+		operations.add(get("employee.getWithDate", 15, random -> "/employee/getWithDate"));
+		operations.add(get("employee.top3", 25, random -> "/employee/get-top3-highest-paid-employees"));
+		operations.add(get("employee.top", 25, random -> "/employee/top?n=5&departmentId=" + pick(departmentIds, random)));
+		operations.add(get("employee.get", 5, random -> "/employee/get"));
+		operations.add(get("employee.stream", 5, random -> "/employee/stream"));
+		operations.add(get("employee.getPerformanceById", 100, random -> "/employee/getPerformanceById/" + activeEmployee(random)));
+		operations.add(get("employee.performance", 20, random -> "/employee/performance?departmentId=" + pick(departmentIds, random)));
+		operations.add(get("employee.performanceSubmission", 15, random -> "/employee/performance-submissions/" + pick(submissionIds, random)));
+		operations.add(get("department.get", 30, random -> "/department/get"));
+		operations.add(get("department.getById", 50, random -> "/department/getById/" + pick(departmentIds, random)));
+		operations.add(get("department.count", 30, random -> "/department/count"));
+		operations.add(get("department.getInBatches", 20, random -> "/department/get-in-batches/" + random.nextInt(5) + "/10"));
+		operations.add(get("department.seek", 20, random -> "/department/get-in-batches/seek?pageSize=10"));
+		// Writes
+		operations.add(new Operation("employee.add", 40, random -> BenchmarkEnvironment.json(
+				HttpRequest.newBuilder(driver.uri("/employee/add")), newEmployee(pick(departmentIds, random)))));
+		operations.add(new Operation("employee.bulk", 5, random -> {
+			StringBuilder body = new StringBuilder("[");
+			for (int i = 0; i < 10; i++) {
+				body.append(i == 0 ? "" : ",").append(newEmployee(pick(departmentIds, random)));
+			}
+			return BenchmarkEnvironment.json(HttpRequest.newBuilder(driver.uri("/employee/bulk")), body.append(']').toString());
+		}));
+		operations.add(new Operation("employee.updateSalary", 40, random -> HttpRequest.newBuilder(
+				driver.uri("/employee/updateSalary/" + activeEmployee(random) + "?salary=" + (30000 + random.nextInt(120000))))
+				.PUT(HttpRequest.BodyPublishers.noBody())));
+		operations.add(new Operation("employee.update", 20, random -> {
+			int employeeId = activeEmployee(random);
+			int index = activeEmployeeIndex.get(employeeId);
+			String body = "{\"name\":\"Employee " + index + "\",\"email\":\"employee" + index + "@example.com\""
+					+ ",\"salary\":" + (30000 + random.nextInt(120000)) + ",\"dateOfJoining\":\"2020-01-01\""
+					+ ",\"departments\":[{\"id\":" + departmentIds.get(index % departmentIds.size()) + "}]}";
+			return HttpRequest.newBuilder(driver.uri("/employee/update/" + employeeId))
+					.header("Content-Type", "application/json").PUT(HttpRequest.BodyPublishers.ofString(body));
+		}));
+		operations.add(new Operation("employee.assign", 10, random -> HttpRequest.newBuilder(
+				driver.uri("/employee/assign/" + activeEmployee(random) + "?dep_id=" + pick(departmentIds, random)))
+				.PUT(HttpRequest.BodyPublishers.noBody())));
+		operations.add(new Operation("employee.transfer", 5, random -> {
+			int[] employee = transferableEmployees.poll();
+			int to = pick(departmentIds, random);
+			String path = "/employee/transfer?empId=" + employee[0] + "&oldDepIdd=" + employee[1] + "&new_dep_id=" + to;
+			transferableEmployees.add(new int[] { employee[0], to });
+			return HttpRequest.newBuilder(driver.uri(path));
+		}));
+		operations.add(new Operation("employee.transferBulk", 2, random -> {
+			List<int[]> batch = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				batch.add(transferableEmployees.poll());
+			}
+			int from = batch.get(0)[1];
+			int to = pick(departmentIds, random);
+			while (to == from) {
+				to = pick(departmentIds, random);
+			}
+			StringBuilder ids = new StringBuilder();
+			for (int[] employee : batch) {
+				ids.append(ids.length() == 0 ? "" : ",").append(employee[0]);
+				transferableEmployees.add(new int[] { employee[0], employee[1] == from ? to : employee[1] });
+			}
+			String body = "{\"employeeIds\":[" + ids + "],\"fromDepartmentId\":" + from + ",\"toDepartmentId\":" + to + "}";
+			return BenchmarkEnvironment.json(HttpRequest.newBuilder(driver.uri("/employee/transfer/bulk")), body);
+		}));
+		operations.add(new Operation("employee.delete", 5, random -> HttpRequest.newBuilder(
+				driver.uri("/employee/delete/" + deletableEmployees.poll())).DELETE()));
+		operations.add(new Operation("employee.updateBulk", 1, random -> HttpRequest.newBuilder(
+				driver.uri("/employee/update/bulk?percentage=" + (random.nextBoolean() ? 1 : -1)))
+				.PUT(HttpRequest.BodyPublishers.noBody())));
+		operations.add(new Operation("employee.addPerformance", 20, random -> BenchmarkEnvironment.json(HttpRequest.newBuilder(
+				driver.uri("/employee/addPerformance/" + activeEmployee(random))), "{\"rating\":4,\"feedback\":\"Load test\"}")));
+		operations.add(new Operation("employee.addPerformanceAsync", 20, random -> BenchmarkEnvironment.json(HttpRequest.newBuilder(
+				driver.uri("/employee/addPerformance/" + activeEmployee(random) + "/async")), "{\"rating\":4,\"feedback\":\"Load test\"}")));
+		operations.add(new Operation("department.add", 2, random -> BenchmarkEnvironment.json(HttpRequest.newBuilder(
+				driver.uri("/department/add")), "{\"name\":\"Load test " + nextDepartment.incrementAndGet() + "\",\"location\":\"Annex\"}")));
+		operations.add(new Operation("department.update", 5, random -> {
+			int departmentId = pick(departmentIds, random);
+			String body = "{\"name\":\"Department " + departmentIds.indexOf(departmentId) + "\",\"location\":\"Floor " + random.nextInt(10) + "\"}";
+			return HttpRequest.newBuilder(driver.uri("/department/update/" + departmentId))
+					.header("Content-Type", "application/json").PUT(HttpRequest.BodyPublishers.ofString(body));
+		}));
+		operations.add(new Operation("department.delete", 1, random -> HttpRequest.newBuilder(
+				driver.uri("/department/delete/" + deletableDepartments.poll())).DELETE()));
+		return operations;
+	}
+
+	private Operation get(String name, int weight, Function<ThreadLocalRandom, String> path) {
+		return new Operation(name, weight, random -> HttpRequest.newBuilder(driver.uri(path.apply(random))));
+	}
+
+	private int activeEmployee(ThreadLocalRandom random) {
+		return pick(activeEmployees, random);
+	}
+
+	private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+		return values.get(random.nextInt(values.size()));
+	}
+
+	private String newEmployee(int departmentId) {
+		int n = nextEmail.incrementAndGet();
+		return "{\"name\":\"Load " + n + "\",\"email\":\"load" + n + "@example.com\",\"salary\":50000"
+				+ ",\"dateOfJoining\":\"" + LocalDate.now() + "\",\"departments\":[{\"id\":" + departmentId + "}]}";
+	}
+
+	private static void print(Map<String, Object> result, Map<String, Stats> stats) {
+		System.out.printf("  circuit breaker: %s, ending %s; not permitted %s, bulkhead rejections %s, retries %s%n",
+				result.get("circuitBreakerTransitions"), result.get("circuitBreakerStateAtEnd"),
+				result.get("circuitBreakerNotPermittedCalls"), result.get("bulkheadRejections"), result.get("retries"));
+		System.out.printf("  %-32s %9s %8s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms");
+		stats.forEach((operation, s) -> System.out.printf("  %-32s %9d %8d %9.1f %9.2f %9.2f %9.2f%n",
+				operation, s.requests(), s.errors(), s.throughput(), s.p50Millis(), s.p90Millis(), s.p99Millis()));
+	}
+}
@@ -0,0 +1,150 @@
+package com.mindfire.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mindfire.StatementCounter;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.event.EmployeeChangedEvent;
+import com.mindfire.service.EmployeeService;
+
+import jakarta.persistence.EntityManagerFactory;
+/**
+ * Membership changes on one very large department.
+ * On top of the {@link SeededDatabase}, every seeded employee is made a member of one extra
+ * department, so {@code -p employees=50000} gives a department with 50k members.
+ * {@code transfer} moves the next employee out of that department into a small one, or back
+ * again, so each call removes one member from the large department or adds one to it;
+ * {@code addEmployee} hires a new employee into it.
+ *
+ * The calls, the SQL statements they prepare and the entities they load are reported as the
+ * {@code calls}, {@code statements} and {@code entitiesLoaded} secondary metrics. Rows written
+ * through one JDBC batch share a prepared statement, so a collection that is deleted and
+ * re-inserted shows up in {@code entitiesLoaded} rather than in {@code statements}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class MembershipBenchmark {
+	/**
+	 * Statements prepared and entities loaded by the measured calls of one iteration,
+	 * and the number of calls.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Statements {
+
+		public long statements;
+
+		public long entitiesLoaded;
+
+		public long calls;
+
+		private Statistics statistics;
+
+		private long loadedBefore;
+
+		@Setup(Level.Iteration)
+		public void reset(SeededDatabase database) {
+			statistics = database.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+			statistics.setStatisticsEnabled(true);
+			statements = 0;
+			entitiesLoaded = 0;
+			calls = 0;
+		}
+
+		void start() {
+			StatementCounter.reset();
+			loadedBefore = statistics.getEntityLoadCount();
+		}
+
+		void record() {
+			statements += StatementCounter.count();
+			entitiesLoaded += statistics.getEntityLoadCount() - loadedBefore;
+			calls++;
+		}
+	}
+
+	private EmployeeService employeeService;
+
+	private int largeDepartment;
+
+	private int smallDepartment;
+
+	private boolean[] movedOut;
+
+	private int nextEmployee;
+
+	private int nextEmail;
+
+	@Setup(Level.Trial)
+	public void setUp(SeededDatabase database) {
+		employeeService = database.getBean(EmployeeService.class);
+		largeDepartment = database.departments + 1;
+		smallDepartment = database.departments + 2;
+		JdbcTemplate jdbcTemplate = database.getBean(JdbcTemplate.class);
+		jdbcTemplate.update("INSERT INTO department (id, name, location) VALUES (?, ?, ?)", largeDepartment, "Large", "Campus");
+		jdbcTemplate.update("INSERT INTO department (id, name, location) VALUES (?, ?, ?)", smallDepartment, "Small", "Annex");
+		List<Object[]> memberships = new ArrayList<>();
+		for (int id = 1; id <= database.employees; id++) {
+			memberships.add(new Object[] { largeDepartment, id });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO employee_department (department_id, employee_id) VALUES (?, ?)", memberships);
+		database.context.publishEvent(EmployeeChangedEvent.all());
+		movedOut = new boolean[database.employees + 1];
+	}
+
+	@Benchmark
+	public void transfer(SeededDatabase database, Statements statements) {
+		int employeeId = nextEmployee++ % database.employees + 1;
+		statements.start();
+		if (movedOut[employeeId]) {
+			employeeService.employeeTransfer(employeeId, smallDepartment, largeDepartment);
+		} else {
+			employeeService.employeeTransfer(employeeId, largeDepartment, smallDepartment);
+		}
+		statements.record();
+		movedOut[employeeId] = !movedOut[employeeId];
+	}
+
+	@Benchmark
+	public Employee addEmployee(Statements statements) {
+		Set<Department> departments = new HashSet<>();
+		departments.add(Department.builder().id(largeDepartment).employees(new HashSet<>()).build());
+		Employee employee = Employee.builder()
+				.name("Member " + nextEmail)
+				.email("member" + nextEmail++ + "@example.com")
+				.salary(50000)
+				.dateOfJoining(LocalDate.now())
+				.departments(departments)
+				.build();
+		statements.start();
+		Employee saved = employeeService.addEmployee(employee);
+		statements.record();
+		return saved;
+	}
+}
@@ -0,0 +1,94 @@
+package com.mindfire.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+/**
+ * In-process stand-in for PERFORMANCE-SERVICE.
+ * Answers the two endpoints used by {@code PerformanceClient} after a fixed delay, so that calls
+ * through Feign block their caller the way a remote service would. A configurable share of
+ * requests fails with a 500; latency and error rate can be changed while the stub is running
+ * to simulate an outage and its recovery.
+ */
+public class PerformanceServiceStub implements AutoCloseable {
+
+	private static final String GET_PREFIX = "/performance/getByEmployeeId/";
+
+	private static final String ADD_PREFIX = "/performance/addPerformance/";
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	private volatile Duration latency;
+
+	private volatile double errorRate;
+
+	public PerformanceServiceStub(Duration latency) throws IOException {
+		this.latency = latency;
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+		this.executor = Executors.newCachedThreadPool();
+		server.createContext("/performance/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	public void setLatency(Duration latency) {
+		this.latency = latency;
+	}
+	/**
+	 * @param errorRate share of requests, between 0 and 1, answered with a 500
+	 */
+	public void setErrorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			Thread.sleep(latency.toMillis());
+			String path = exchange.getRequestURI().getPath();
+			if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+				exchange.getRequestBody().readAllBytes();
+				respond(exchange, 500, "{\"error\":\"Simulated failure\"}");
+			} else if (path.startsWith(GET_PREFIX)) {
+				int employeeId = Integer.parseInt(path.substring(GET_PREFIX.length()));
+				respond(exchange, 200, "[{\"id\":" + employeeId + ",\"rating\":4,\"feedback\":\"Meets expectations\",\"employeeId\":" + employeeId + "}]");
+			} else if (path.startsWith(ADD_PREFIX)) {
+				int employeeId = Integer.parseInt(path.substring(ADD_PREFIX.length()));
+				exchange.getRequestBody().readAllBytes();
+				respond(exchange, 200, "{\"id\":" + employeeId + ",\"rating\":4,\"feedback\":\"Meets expectations\",\"employeeId\":" + employeeId + "}");
+			} else {
+				respond(exchange, 404, "{}");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,88 @@
+package com.mindfire.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mindfire.EmployeeManagementSystemApplication;
+import com.mindfire.event.EmployeeChangedEvent;
+/**
+ * JMH state holding an application context on an embedded H2 database seeded with
+ * {@code employees} employees spread round-robin over {@code departments} departments.
+ *
+ * Rows are written with plain JDBC batches rather than through the service, so seeding a million
+ * employees takes seconds. The id sequences are then moved past the seeded ids and the read models
+ * are rebuilt, leaving the application in the state it would have after a restart.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+	private static final int SEED_BATCH_SIZE = 10_000;
+
+	@Param("10000")
+	public int employees;
+
+	@Param("100")
+	public int departments;
+
+	public ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(EmployeeManagementSystemApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.profiles.active=test",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN",
+						"--spring.jpa.properties.hibernate.session_factory.statement_inspector=com.mindfire.StatementCounter",
+						"--spring.datasource.url=jdbc:h2:mem:ems-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		List<Object[]> rows = new ArrayList<>();
+		for (int id = 1; id <= departments; id++) {
+			rows.add(new Object[] { id, "Department " + id, "Floor " + id });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO department (id, name, location) VALUES (?, ?, ?)", rows);
+		LocalDate firstJoining = LocalDate.of(2015, 1, 1);
+		for (int from = 1; from <= employees; from += SEED_BATCH_SIZE) {
+			List<Object[]> employeeRows = new ArrayList<>(SEED_BATCH_SIZE);
+			List<Object[]> membershipRows = new ArrayList<>(SEED_BATCH_SIZE);
+			for (int id = from; id < Math.min(from + SEED_BATCH_SIZE, employees + 1); id++) {
+				employeeRows.add(new Object[] { id, "Employee " + id, "employee" + id + "@example.com",
+						30000 + (id * 7919L) % 120000, Date.valueOf(firstJoining.plusDays(id % 3650)) });
+				membershipRows.add(new Object[] { departmentOf(id), id });
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO employee (id, name, email, salary, date_of_joining) VALUES (?, ?, ?, ?, ?)", employeeRows);
+			jdbcTemplate.batchUpdate("INSERT INTO employee_department (department_id, employee_id) VALUES (?, ?)", membershipRows);
+		}
+		jdbcTemplate.execute("ALTER SEQUENCE employee_seq RESTART WITH " + (employees + 51));
+		jdbcTemplate.execute("ALTER SEQUENCE department_seq RESTART WITH " + (departments + 51));
+		context.publishEvent(EmployeeChangedEvent.all());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+	/**
+	 * The department an employee was seeded into.
+	 */
+	public int departmentOf(int employeeId) {
+		return employeeId % departments + 1;
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return context.getBean(type);
+	}
+}
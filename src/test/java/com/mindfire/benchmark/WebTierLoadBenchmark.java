@@ -0,0 +1,93 @@
+package com.mindfire.benchmark;
+
+import java.io.File;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mindfire.benchmark.LoadDriver.Operation;
+import com.mindfire.benchmark.LoadDriver.Stats;
+/**
+ * Compares request handling on platform threads with {@code spring.threads.virtual.enabled}.
+ *
+ * Each mode gets a fresh application on H2, seeded with the same data, and the same closed-loop
+ * mix of read endpoints plus the performance lookup, which blocks on the stubbed
+ * PERFORMANCE-SERVICE. The performance cache is switched off so every lookup goes downstream.
+ * Hikari and {@code performanceBulkHead} keep their configured sizes in both modes. Results are
+ * printed and written as JSON.
+ *
+ * Run with {@code mvn -Pbenchmark test-compile exec:java@web-tier}. The virtual mode needs Java 21
+ * and is skipped on older runtimes. Tunable through system properties:
+ * {@code benchmark.modes}, {@code benchmark.concurrency}, {@code benchmark.warmup-seconds},
+ * {@code benchmark.duration-seconds}, {@code benchmark.departments}, {@code benchmark.employees},
+ * {@code benchmark.stub-latency-ms} and {@code benchmark.output}.
+ */
+public class WebTierLoadBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		List<String> modes = List.of(System.getProperty("benchmark.modes", "platform,virtual").split(","));
+		int concurrency = Integer.getInteger("benchmark.concurrency", 400);
+		Duration warmup = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 10));
+		Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.duration-seconds", 30));
+		int departments = Integer.getInteger("benchmark.departments", 20);
+		int employees = Integer.getInteger("benchmark.employees", 5000);
+		Duration stubLatency = Duration.ofMillis(Integer.getInteger("benchmark.stub-latency-ms", 50));
+		File output = new File(System.getProperty("benchmark.output", "target/benchmarks/web-tier.json"));
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("java", Runtime.version().toString());
+		report.put("concurrency", concurrency);
+		report.put("durationSeconds", duration.toSeconds());
+		report.put("employees", employees);
+		report.put("stubLatencyMillis", stubLatency.toMillis());
+		Map<String, Map<String, Stats>> results = new LinkedHashMap<>();
+		for (String mode : modes) {
+			boolean virtual = "virtual".equals(mode.trim());
+			if (virtual && Runtime.version().feature() < 21) {
+				System.out.println("Skipping virtual mode: Java 21 or later is required");
+				continue;
+			}
+			Map<String, Object> properties = new LinkedHashMap<>();
+			properties.put("spring.threads.virtual.enabled", virtual);
+			properties.put("ems.performance.cache.maximum-size", 0);
+			try (BenchmarkEnvironment environment = new BenchmarkEnvironment(properties, stubLatency, concurrency)) {
+				environment.seed(departments, employees);
+				results.put(mode.trim(), environment.getDriver().run(workload(environment), warmup, duration));
+			}
+		}
+		report.put("results", results);
+
+		print(results);
+		output.getParentFile().mkdirs();
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+		System.out.println("Results written to " + output.getPath());
+	}
+
+	private static List<Operation> workload(BenchmarkEnvironment environment) {
+		LoadDriver driver = environment.getDriver();
+		List<Integer> employeeIds = environment.getEmployeeIds();
+		List<Integer> departmentIds = environment.getDepartmentIds();
+		return List.of(
+				new Operation("employee.getById", 40, random -> HttpRequest.newBuilder(
+						driver.uri("/employee/getById/" + employeeIds.get(random.nextInt(employeeIds.size()))))),
+				new Operation("employee.getInBatches", 20, random -> HttpRequest.newBuilder(
+						driver.uri("/employee/get-in-batches/" + random.nextInt(50) + "/50"))),
+				new Operation("department.getById", 15, random -> HttpRequest.newBuilder(
+						driver.uri("/department/getById/" + departmentIds.get(random.nextInt(departmentIds.size()))))),
+				new Operation("department.count", 5, random -> HttpRequest.newBuilder(driver.uri("/department/count"))),
+				new Operation("employee.getPerformanceById", 20, random -> HttpRequest.newBuilder(
+						driver.uri("/employee/getPerformanceById/" + employeeIds.get(random.nextInt(employeeIds.size()))))));
+	}
+
+	static void print(Map<String, Map<String, Stats>> results) {
+		System.out.printf("%-10s %-30s %10s %8s %10s %10s %10s %10s%n",
+				"mode", "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+		results.forEach((mode, operations) -> operations.forEach((operation, stats) ->
+				System.out.printf("%-10s %-30s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", mode, operation,
+						stats.requests(), stats.errors(), stats.throughput(), stats.p50Millis(), stats.p99Millis(), stats.maxMillis())));
+	}
+}
@@ -0,0 +1,90 @@
+package com.mindfire.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.event.DepartmentChangedEvent;
+import com.mindfire.event.EmployeeChangedEvent;
+import com.mindfire.service.DepartmentService;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks that single employees and departments are served from the cache without SQL,
+ * and that changes made through the service layer evict them, including employees whose
+ * department was renamed. A rename is reported to the employee views only through the department
+ * event, so the employee read models do not reload.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class EntityCacheTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private DepartmentService departmentService;
+	@Autowired
+	private ApplicationEvents events;
+
+	@Test
+	void repeatedReadsRunNoQueries() {
+		Employee added = addEmployee(addDepartment());
+		int departmentId = added.getDepartments().iterator().next().getId();
+		Employee employee = employeeService.getEmployeeById(added.getId());
+		Department department = departmentService.getDepartmentById(departmentId);
+
+		StatementCounter.reset();
+		assertSame(employee, employeeService.getEmployeeById(added.getId()));
+		assertSame(department, departmentService.getDepartmentById(departmentId));
+		assertEquals(0, StatementCounter.count());
+		assertEquals(1, employee.getDepartments().size());
+	}
+
+	@Test
+	void updatesEvictTheCachedEntities() {
+		Department department = addDepartment();
+		Employee employee = addEmployee(department);
+		employeeService.getEmployeeById(employee.getId());
+		departmentService.getDepartmentById(department.getId());
+
+		employeeService.updateEmployeeSalary(employee.getId(), 12345);
+		assertEquals(12345, employeeService.getEmployeeById(employee.getId()).getSalary());
+
+		String name = "Renamed " + TestData.next();
+		events.clear();
+		departmentService.updatDepartment(department.getId(), Department.builder().name(name).location("Roof").build());
+		assertEquals(0, events.stream(EmployeeChangedEvent.class).count());
+		assertEquals(Set.of(employee.getId()), events.stream(DepartmentChangedEvent.class).findFirst().orElseThrow().getMemberIds());
+		assertEquals(name, departmentService.getDepartmentById(department.getId()).getName());
+		assertEquals(name, employeeService.getEmployeeById(employee.getId()).getDepartments().iterator().next().getName());
+
+		StatementCounter.reset();
+		employeeService.getEmployeeById(employee.getId());
+		departmentService.getDepartmentById(department.getId());
+		assertEquals(0, StatementCounter.count());
+	}
+
+	private Department addDepartment() {
+		return departmentService.addDepartment(TestData.department("Cached").build());
+	}
+
+	private Employee addEmployee(Department department) {
+		return employeeService.addEmployee(TestData.employee("Cached", department)
+				.dateOfJoining(LocalDate.now())
+				.build());
+	}
+}
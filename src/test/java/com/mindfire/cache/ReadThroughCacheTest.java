@@ -0,0 +1,55 @@
+package com.mindfire.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+/**
+ * Checks that values are loaded once, and that a load overlapping an invalidation is not kept.
+ */
+class ReadThroughCacheTest {
+
+	private final ReadThroughCache<Integer, String> cache =
+			new ReadThroughCache<>("test", 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void loadsOncePerKey() {
+		assertEquals("1-1", cache.get(1, this::load));
+		assertEquals("1-1", cache.get(1, this::load));
+		assertEquals("2-2", cache.get(2, this::load));
+		cache.invalidate(1);
+		assertEquals("1-3", cache.get(1, this::load));
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void loadRacingAnInvalidationIsDropped() {
+		assertEquals("1-1", cache.get(1, key -> {
+			String loaded = load(key);
+			cache.invalidate(key);
+			return loaded;
+		}));
+		assertEquals("1-2", cache.get(1, this::load));
+	}
+
+	@Test
+	void failedAndNullLoadsAreNotCached() {
+		assertThrows(IllegalStateException.class, () -> cache.get(1, key -> {
+			throw new IllegalStateException();
+		}));
+		assertNull(cache.get(1, key -> null));
+		assertEquals("1-1", cache.get(1, this::load));
+	}
+
+	private String load(int key) {
+		return key + "-" + loads.incrementAndGet();
+	}
+}
@@ -0,0 +1,76 @@
+package com.mindfire.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.mindfire.TestData;
+import com.mindfire.entity.Employee;
+import com.mindfire.model.EmployeeResponse;
+import com.mindfire.model.PerformanceResponse;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks that calls abandoned at a batch's deadline neither keep their permits nor keep
+ * running, so the next batch gets its full concurrency, and that empty answers are not cached.
+ */
+@SpringBootTest(properties = "ems.performance.fan-out.max-in-flight=2")
+@ActiveProfiles("test")
+class PerformanceBatchClientTest {
+
+	@Autowired
+	private PerformanceBatchClient batchClient;
+	@Autowired
+	private EmployeeService employeeService;
+	@MockitoBean
+	private PerformanceClient performanceClient;
+
+	@Test
+	void abandonedCallsDoNotHoldUpTheNextBatch() {
+		CountDownLatch never = new CountDownLatch(1);
+		when(performanceClient.getPerformanceById(anyInt())).thenAnswer(invocation -> {
+			never.await();
+			return List.of();
+		});
+		Map<Integer, CompletableFuture<List<PerformanceResponse>>> slow =
+				batchClient.fetchAll(List.of(1, 2, 3, 4), Duration.ofMillis(200));
+		assertTrue(slow.values().stream().allMatch(CompletableFuture::isCancelled));
+
+		doReturn(List.of()).when(performanceClient).getPerformanceById(anyInt());
+		Map<Integer, CompletableFuture<List<PerformanceResponse>>> fast =
+				batchClient.fetchAll(List.of(5, 6, 7, 8), Duration.ofSeconds(5));
+		for (CompletableFuture<List<PerformanceResponse>> lookup : fast.values()) {
+			assertEquals(List.of(), lookup.getNow(null));
+		}
+	}
+
+	@Test
+	void nullRecordsFailTheEmployeeAndAreNotCached() {
+		Employee employee = employeeService.addEmployee(TestData.employee("Unrated", TestData.department("Unrated").build())
+				.build());
+		doReturn(null).when(performanceClient).getPerformanceById(employee.getId());
+		assertEquals(EmployeeResponse.PerformanceStatus.FAILED, performanceOf(employee).getPerformanceStatus());
+
+		doReturn(List.of()).when(performanceClient).getPerformanceById(employee.getId());
+		EmployeeResponse response = performanceOf(employee);
+		assertEquals(EmployeeResponse.PerformanceStatus.OK, response.getPerformanceStatus());
+		assertEquals(List.of(), response.getPerformanceResponses());
+	}
+
+	private EmployeeResponse performanceOf(Employee employee) {
+		return employeeService.getEmployeesWithPerformance(List.of(employee.getId()), null).get(0);
+	}
+}
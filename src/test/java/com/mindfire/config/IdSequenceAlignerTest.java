@@ -0,0 +1,96 @@
+package com.mindfire.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mindfire.TestData;
+import com.mindfire.entity.Employee;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * Runs the aligner against table-backed sequences, as MySQL has them, on a database seeded
+ * behind Hibernate's back, then inserts through JPA across more than one allocation block.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:ems-sequences;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.jpa.database-platform=com.mindfire.config.IdSequenceAlignerTest$TableSequenceDialect",
+		"ems.id-sequence.align-on-startup=true" })
+@ActiveProfiles("test")
+class IdSequenceAlignerTest {
+
+	private static final int SEEDED = 120;
+
+	@Autowired
+	private IdSequenceAligner aligner;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void staleSequenceWithinOneBlockIsMovedBeforeInserting() {
+		jdbcTemplate.update("DELETE FROM employee_department");
+		jdbcTemplate.update("DELETE FROM employee");
+		for (int id = 1; id <= SEEDED; id++) {
+			jdbcTemplate.update("INSERT INTO employee (id, name, email, salary, date_of_joining) VALUES (?, ?, ?, ?, ?)",
+					id, "Seeded " + id, "seeded" + id + "@example.com", 1000 + id, LocalDate.now());
+		}
+		// Past MAX(id), but the block it hands out still starts below it
+		jdbcTemplate.update("UPDATE employee_seq SET next_val = ?", SEEDED + 10);
+
+		aligner.afterSingletonsInstantiated();
+
+		List<Employee> added = new ArrayList<>();
+		for (int n = 0; n < 60; n++) {
+			added.add(TestData.employee("Added")
+					.salary(2000 + n)
+					.dateOfJoining(LocalDate.now())
+					.build());
+		}
+		employeeRepository.saveAll(added);
+
+		assertEquals(SEEDED + added.size(), employeeRepository.count());
+		assertTrue(added.stream().allMatch(employee -> employee.getId() > SEEDED));
+	}
+
+	@Test
+	void sequenceAlreadyAheadIsLeftAlone() {
+		long ahead = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM employee", Long.class) + 500;
+		jdbcTemplate.update("UPDATE employee_seq SET next_val = ?", ahead);
+
+		aligner.afterSingletonsInstantiated();
+
+		assertEquals(ahead, jdbcTemplate.queryForObject("SELECT next_val FROM employee_seq", Long.class));
+	}
+	/**
+	 * H2 with sequences emulated by a single-row table, the way Hibernate maps them on MySQL.
+	 */
+	public static class TableSequenceDialect extends H2Dialect {
+
+		public TableSequenceDialect() {
+			super();
+		}
+
+		public TableSequenceDialect(DialectResolutionInfo info) {
+			super(info);
+		}
+
+		@Override
+		public SequenceSupport getSequenceSupport() {
+			return NoSequenceSupport.INSTANCE;
+		}
+	}
+}
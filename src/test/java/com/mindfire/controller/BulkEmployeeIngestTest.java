@@ -0,0 +1,155 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.TestData;
+import com.mindfire.constant.MessageConstant;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * Posts mixed batches to the bulk ingest endpoint and checks that every row gets its own result,
+ * that rejected rows leave the others alone, and that created rows keep their departments.
+ * The small chunk size makes the batches span several chunks.
+ */
+@SpringBootTest(properties = { "ems.employee.bulk.chunk-size=2", "ems.employee.bulk.max-rows=10" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkEmployeeIngestTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+
+	@Test
+	void everyRowIsReportedOnItsOwn() throws Exception {
+		int first = addDepartment();
+		int second = addDepartment();
+		String taken = TestData.email("Bulk");
+		employeeRepository.save(Employee.builder()
+				.name("Existing")
+				.email(taken)
+				.salary(5000)
+				.dateOfJoining(LocalDate.now())
+				.build());
+		String repeated = TestData.email("Bulk");
+		List<Map<String, Object>> rows = List.of(
+				row(repeated, first),
+				row(repeated, second),
+				row(taken, first),
+				row(TestData.email("Bulk"), Integer.MAX_VALUE),
+				row("not an email", first),
+				row(TestData.email("Bulk"), first, second));
+
+		JsonNode results = ingest(rows, status().isMultiStatus());
+
+		assertEquals(rows.size(), results.size());
+		for (int i = 0; i < rows.size(); i++) {
+			assertEquals(i, results.get(i).get("index").asInt());
+		}
+		assertCreated(results.get(0), Set.of(first));
+		assertFailed(results.get(1), MessageConstant.DUPLICATE_EMAIL + repeated);
+		assertFailed(results.get(2), MessageConstant.DUPLICATE_EMAIL + taken);
+		assertFailed(results.get(3), MessageConstant.DEPARTMENT_NOT_FOUND + Integer.MAX_VALUE);
+		assertFailed(results.get(4), "email: ");
+		assertCreated(results.get(5), Set.of(first, second));
+		assertEquals(1, employeeRepository.findExistingEmails(List.of(repeated)).size());
+	}
+
+	@Test
+	void fullyAcceptedBatchIsCreated() throws Exception {
+		int department = addDepartment();
+		List<Map<String, Object>> rows = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			rows.add(row(TestData.email("Bulk"), department));
+		}
+
+		JsonNode results = ingest(rows, status().isCreated());
+
+		for (JsonNode result : results) {
+			assertCreated(result, Set.of(department));
+		}
+	}
+
+	@Test
+	void oversizedBatchIsRejected() throws Exception {
+		int department = addDepartment();
+		List<Map<String, Object>> rows = new ArrayList<>();
+		for (int i = 0; i < 11; i++) {
+			rows.add(row(TestData.email("Bulk"), department));
+		}
+		String[] emails = rows.stream().map(row -> (String) row.get("email")).toArray(String[]::new);
+
+		mockMvc.perform(post("/employee/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(rows)))
+				.andExpect(status().isBadRequest());
+		assertTrue(employeeRepository.findExistingEmails(List.of(emails)).isEmpty());
+	}
+
+	private JsonNode ingest(List<Map<String, Object>> rows, ResultMatcher expectedStatus) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(post("/employee/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(rows)))
+				.andExpect(expectedStatus)
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	private void assertCreated(JsonNode result, Set<Integer> departmentIds) {
+		assertEquals("CREATED", result.get("status").asText(), result.toString());
+		assertNull(result.get("message").textValue());
+		List<Employee> created = employeeRepository.findWithDepartmentsByIdIn(List.of(result.get("id").asInt()));
+		assertEquals(1, created.size());
+		assertEquals(departmentIds, created.get(0).getDepartments().stream().map(Department::getId).collect(Collectors.toSet()));
+	}
+
+	private static void assertFailed(JsonNode result, String messagePrefix) {
+		assertEquals("FAILED", result.get("status").asText(), result.toString());
+		assertTrue(result.get("id").isNull(), result.toString());
+		assertTrue(result.get("message").asText().startsWith(messagePrefix), result.toString());
+	}
+
+	private static Map<String, Object> row(String email, int... departmentIds) {
+		int n = TestData.next();
+		List<Map<String, Object>> departments = new ArrayList<>();
+		for (int id : departmentIds) {
+			departments.add(Map.of("id", id));
+		}
+		return Map.of(
+				"name", "Bulk " + n,
+				"email", email,
+				"salary", 5000 + n,
+				"dateOfJoining", LocalDate.now().toString(),
+				"departments", departments);
+	}
+
+	private int addDepartment() {
+		return departmentRepository.save(TestData.department("Bulk").build()).getId();
+	}
+}
@@ -0,0 +1,147 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.model.BulkTransferRequest;
+import com.mindfire.model.BulkTransferResult;
+import com.mindfire.repo.EmployeeRepository;
+import com.mindfire.service.DepartmentService;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks that a bulk transfer rewrites only the memberships of the source department, reports
+ * moved, skipped and missing ids, refreshes cached employees and costs the same for any number of ids.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkTransferTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private DepartmentService departmentService;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void movesOnlyMembersOfTheSourceDepartment() throws Exception {
+		Department from = addDepartment();
+		Department to = addDepartment();
+		Department other = addDepartment();
+		int first = addEmployee(from).getId();
+		int second = addEmployee(from, other).getId();
+		int already = addEmployee(from, to).getId();
+		int outsider = addEmployee(other).getId();
+		int missing = Integer.MAX_VALUE;
+		employeeService.getEmployeeById(first);
+
+		BulkTransferResult result = transfer(List.of(first, second, already, outsider, missing, first), from, to, status().isOk());
+
+		assertEquals(List.of(first, second, already), result.getMoved());
+		assertEquals(List.of(outsider), result.getSkipped());
+		assertEquals(List.of(missing), result.getMissing());
+		assertEquals(Map.of(
+				first, Set.of(to.getId()),
+				second, Set.of(to.getId(), other.getId()),
+				already, Set.of(to.getId()),
+				outsider, Set.of(other.getId())), membershipsOf(first, second, already, outsider));
+		assertEquals(Set.of(to.getId()), departmentIdsOf(employeeService.getEmployeeById(first)));
+	}
+
+	@Test
+	void costDoesNotDependOnTheNumberOfEmployees() throws Exception {
+		Department from = addDepartment();
+		Department to = addDepartment();
+		List<Integer> few = new ArrayList<>();
+		List<Integer> many = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			few.add(addEmployee(from).getId());
+		}
+		for (int i = 0; i < 20; i++) {
+			many.add(addEmployee(from).getId());
+		}
+
+		StatementCounter.reset();
+		transfer(few, from, to, status().isOk());
+		long fewStatements = StatementCounter.count();
+		StatementCounter.reset();
+		transfer(many, from, to, status().isOk());
+
+		assertEquals(fewStatements, StatementCounter.count());
+	}
+
+	@Test
+	void unknownEmployeesAreReportedMissing() throws Exception {
+		BulkTransferResult result = transfer(List.of(Integer.MAX_VALUE), addDepartment(), addDepartment(), status().isOk());
+
+		assertEquals(List.of(), result.getMoved());
+		assertEquals(List.of(Integer.MAX_VALUE), result.getMissing());
+	}
+
+	@Test
+	void invalidRequestsAreRejected() throws Exception {
+		Department department = addDepartment();
+		int employee = addEmployee(department).getId();
+		transfer(List.of(employee), department, department, status().isBadRequest());
+		transfer(List.of(employee), department, Department.builder().id(Integer.MAX_VALUE).build(), status().isBadRequest());
+		transfer(List.of(), department, addDepartment(), status().isBadRequest());
+		assertEquals(Set.of(department.getId()), membershipsOf(employee).get(employee));
+	}
+
+	private BulkTransferResult transfer(List<Integer> employeeIds, Department from, Department to,
+			ResultMatcher expectedStatus) throws Exception {
+		BulkTransferRequest request = new BulkTransferRequest(employeeIds, from.getId(), to.getId());
+		String body = mockMvc.perform(post("/employee/transfer/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request)))
+				.andExpect(expectedStatus)
+				.andReturn().getResponse().getContentAsString();
+		return body.startsWith("{") ? objectMapper.readValue(body, BulkTransferResult.class) : null;
+	}
+
+	private Map<Integer, Set<Integer>> membershipsOf(Integer... employeeIds) {
+		return employeeRepository.findWithDepartmentsByIdIn(List.of(employeeIds)).stream()
+				.collect(Collectors.toMap(Employee::getId, BulkTransferTest::departmentIdsOf));
+	}
+
+	private static Set<Integer> departmentIdsOf(Employee employee) {
+		return employee.getDepartments().stream().map(Department::getId).collect(Collectors.toSet());
+	}
+
+	private Department addDepartment() {
+		return departmentService.addDepartment(TestData.department("Transfer").build());
+	}
+
+	private Employee addEmployee(Department... departments) {
+		return employeeService.addEmployee(TestData.employee("Transfer", departments)
+				.dateOfJoining(LocalDate.now())
+				.build());
+	}
+}
@@ -0,0 +1,122 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.service.DepartmentService;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks that the polled endpoints answer a current If-None-Match with 304 without running any SQL,
+ * and that every change made through the service layer moves their ETags on.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Test
+	void currentTagIsAnsweredWithoutQueries() throws Exception {
+		Employee employee = addEmployee(addDepartment());
+		for (String uri : new String[] { "/employee/get", "/employee/get?view=summary", "/department/get",
+				"/department/count", "/employee/getById/" + employee.getId(),
+				"/department/getById/" + employee.getDepartments().iterator().next().getId() }) {
+			String etag = etagOf(uri);
+			StatementCounter.reset();
+			mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.ETAG, etag))
+					.andExpect(content().string(""));
+			assertEquals(0, StatementCounter.count(), "statements for " + uri);
+		}
+	}
+
+	@Test
+	void changesMoveTheTags() throws Exception {
+		Department department = addDepartment();
+		Employee employee = addEmployee(department);
+		String employees = etagOf("/employee/get");
+		String summaries = etagOf("/employee/get?view=summary");
+		String departments = etagOf("/department/get");
+		String headcounts = etagOf("/department/count");
+		String single = etagOf("/employee/getById/" + employee.getId());
+		assertNotEquals(employees, summaries);
+
+		employeeService.updateEmployeeSalary(employee.getId(), 9000);
+		assertNotModified("/department/get", departments);
+		employees = assertModified("/employee/get", employees);
+		single = assertModified("/employee/getById/" + employee.getId(), single);
+		headcounts = assertModified("/department/count", headcounts);
+
+		String otherDepartment = etagOf("/department/getById/" + department.getId());
+		Department renamed = Department.builder().name("Renamed " + TestData.next()).location("Roof").build();
+		departmentService.updatDepartment(department.getId(), renamed);
+		departments = assertModified("/department/get", departments);
+		assertModified("/department/getById/" + department.getId(), otherDepartment);
+		// Employees embed their departments
+		assertModified("/employee/getById/" + employee.getId(), single);
+		assertModified("/employee/get", employees);
+
+		addEmployee(null);
+		assertModified("/department/get", departments);
+		assertModified("/department/count", headcounts);
+	}
+
+	private String etagOf(String uri) throws Exception {
+		String etag = mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(etag, "ETag of " + uri);
+		return etag;
+	}
+
+	private void assertNotModified(String uri, String etag) throws Exception {
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+	}
+
+	private String assertModified(String uri, String etag) throws Exception {
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+		String current = etagOf(uri);
+		assertNotEquals(etag, current, "ETag of " + uri);
+		return current;
+	}
+
+	private Department addDepartment() {
+		return departmentService.addDepartment(TestData.department("Conditional").build());
+	}
+	/**
+	 * Adds an employee to {@code department}, or to a department created along with it when null.
+	 */
+	private Employee addEmployee(Department department) {
+		Department member = department != null ? department : TestData.department("Created").location("Annex").build();
+		return employeeService.addEmployee(TestData.employee("Conditional", member)
+				.dateOfJoining(LocalDate.now())
+				.build());
+	}
+}
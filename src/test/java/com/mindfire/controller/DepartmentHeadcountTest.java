@@ -0,0 +1,75 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * Checks the per-department headcounts, including empty departments and employees in several departments,
+ * and that they are computed by a single statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DepartmentHeadcountTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void countsEveryDepartmentInOneStatement() throws Exception {
+		Department large = addDepartment();
+		Department small = addDepartment();
+		Department empty = addDepartment();
+		for (int i = 0; i < 3; i++) {
+			addEmployee(large);
+		}
+		addEmployee(large, small);
+
+		StatementCounter.reset();
+		JsonNode counts = objectMapper.readTree(mockMvc.perform(get("/department/count"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+
+		assertEquals(1, StatementCounter.count());
+		assertEquals(4, counts.get(large.getName()).asInt());
+		assertEquals(1, counts.get(small.getName()).asInt());
+		assertEquals(0, counts.get(empty.getName()).asInt());
+	}
+
+	private Department addDepartment() {
+		return departmentRepository.save(TestData.department("Headcount").build());
+	}
+
+	private void addEmployee(Department... departments) {
+		transactionTemplate.executeWithoutResult(status -> employeeRepository.save(TestData.employee("Headcount", departments)
+				.dateOfJoining(LocalDate.now())
+				.build()));
+	}
+}
@@ -0,0 +1,135 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks that the employee list endpoints load departments in a fixed number of statements,
+ * however many employees they return. Statements are counted on the calling thread only,
+ * so background work of the application does not affect the counts.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeControllerStatementCountTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@MockitoSpyBean
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate.executeWithoutResult(status -> {
+			departmentRepository.deleteAll();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void getAllEmployeesIsIndependentOfResultSize() throws Exception {
+		assertConstantStatementCount("/employee/get");
+	}
+
+	@Test
+	void getEmployeesBySalaryIsIndependentOfResultSize() throws Exception {
+		assertConstantStatementCount("/employee/getWithSalary/1000");
+	}
+
+	@Test
+	void getEmployeesByJoiningDateIsIndependentOfResultSize() throws Exception {
+		assertConstantStatementCount("/employee/getWithDate");
+	}
+
+	@Test
+	void getEmployeesInBatchesIsIndependentOfPageSize() throws Exception {
+		assertConstantStatementCount("/employee/get-in-batches/0/100");
+	}
+
+	@Test
+	void getEmployeesInBatchesSkipsRowsDeletedBeforeTheReload() throws Exception {
+		seed(3);
+		int gone = employeeRepository.findIds(PageRequest.of(0, 1)).getContent().get(0);
+		Answer<?> reload = mockingDetails(employeeRepository).getMockCreationSettings().getDefaultAnswer();
+		AtomicBoolean deleted = new AtomicBoolean();
+		doAnswer(invocation -> {
+			if (deleted.compareAndSet(false, true)) {
+				transactionTemplate.executeWithoutResult(status -> employeeService.deleteEmployee(gone));
+			}
+			return reload.answer(invocation);
+		}).when(employeeRepository).findWithDepartmentsByIdIn(any());
+
+		mockMvc.perform(get("/employee/get-in-batches/0/100"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.length()").value(2))
+				.andExpect(jsonPath("$.content[0].id").isNumber())
+				.andExpect(jsonPath("$.content[1].id").isNumber());
+	}
+
+	private void assertConstantStatementCount(String uri) throws Exception {
+		seed(5);
+		long small = statementsFor(uri, 5);
+		seed(45);
+		long large = statementsFor(uri, 50);
+		assertEquals(small, large, "statements for " + uri);
+	}
+
+	private long statementsFor(String uri, int expectedEmployees) throws Exception {
+		StatementCounter.reset();
+		String path = uri.contains("get-in-batches") ? "$.content" : "$";
+		mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(path + ".length()").value(expectedEmployees))
+				.andExpect(jsonPath(path + "[0].departments.length()").value(2));
+		return StatementCounter.count();
+	}
+	/**
+	 * Adds employees that match every list endpoint, each assigned to two new departments.
+	 */
+	private void seed(int count) {
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Department> departments = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				departments.add(departmentRepository.save(TestData.department("Department").build()));
+			}
+			for (int i = 0; i < count; i++) {
+				employeeRepository.save(TestData.employee("Employee", departments).build());
+			}
+		});
+	}
+}
@@ -0,0 +1,100 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * Reads the NDJSON export back line by line and checks it holds every employee exactly once,
+ * with the employee's own columns only.
+ */
+@SpringBootTest(properties = "ems.employee.stream.fetch-size=7")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeStreamTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void everyEmployeeIsWrittenOnceAsOneLine() throws Exception {
+		Map<Integer, Employee> seeded = seed(25);
+
+		String body = stream();
+
+		assertTrue(body.endsWith("\n"));
+		String[] lines = body.split("\n");
+		assertEquals(employeeRepository.count(), lines.length);
+		Map<Integer, JsonNode> streamed = new HashMap<>();
+		for (String line : lines) {
+			JsonNode employee = objectMapper.readTree(line);
+			assertNull(streamed.put(employee.get("id").asInt(), employee), line);
+		}
+		assertTrue(streamed.keySet().containsAll(seeded.keySet()));
+		seeded.forEach((id, employee) -> {
+			JsonNode line = streamed.get(id);
+			assertEquals(employee.getName(), line.get("name").asText());
+			assertEquals(employee.getEmail(), line.get("email").asText());
+			assertEquals(employee.getSalary(), line.get("salary").asDouble());
+			assertEquals(employee.getDateOfJoining().toString(), line.get("dateOfJoining").asText());
+			assertEquals(0, line.get("departments").size());
+		});
+	}
+
+	private String stream() throws Exception {
+		MvcResult started = mockMvc.perform(get("/employee/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+	}
+
+	private Map<Integer, Employee> seed(int count) {
+		return transactionTemplate.execute(status -> {
+			Department department = departmentRepository.save(TestData.department("Stream").build());
+			Map<Integer, Employee> employees = new HashMap<>();
+			for (int i = 0; i < count; i++) {
+				Employee employee = employeeRepository.save(TestData.employee("Stream", department)
+						.dateOfJoining(LocalDate.of(2020, 1, 1).plusDays(i))
+						.build());
+				employees.put(employee.getId(), employee);
+			}
+			return employees;
+		});
+	}
+}
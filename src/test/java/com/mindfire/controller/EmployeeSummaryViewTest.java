@@ -0,0 +1,98 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Employee;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks that {@code view=summary} returns only id, name, email and salary from every list endpoint,
+ * with the same values as the full view, selected by one statement per result.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeSummaryViewTest {
+
+	private static final Set<String> SUMMARY_FIELDS = new TreeSet<>(Set.of("id", "name", "email", "salary"));
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	void listEndpointsReturnSummaries() throws Exception {
+		Employee employee = addEmployee();
+		// The page is not full, so no count query is needed either
+		for (String uri : new String[] { "/employee/get", "/employee/getWithSalary/1000", "/employee/getWithDate",
+				"/employee/get-in-batches/0/100000" }) {
+			assertSummaries(uri, employee);
+		}
+	}
+
+	@Test
+	void unknownViewIsRejected() throws Exception {
+		mockMvc.perform(get("/employee/get").param("view", "everything")).andExpect(status().isBadRequest());
+	}
+
+	private void assertSummaries(String uri, Employee employee) throws Exception {
+		StatementCounter.reset();
+		JsonNode summaries = rows(read(uri + "?view=SUMMARY"));
+		assertEquals(1, StatementCounter.count(), "statements for " + uri);
+		JsonNode summary = null;
+		for (JsonNode row : summaries) {
+			assertEquals(SUMMARY_FIELDS, fieldsOf(row), uri);
+			if (row.get("id").asInt() == employee.getId()) {
+				summary = row;
+			}
+		}
+		assertNotNull(summary, uri);
+		assertEquals(employee.getName(), summary.get("name").asText());
+		assertEquals(employee.getEmail(), summary.get("email").asText());
+		assertEquals(employee.getSalary(), summary.get("salary").asDouble());
+		assertEquals(summaries.size(), rows(read(uri)).size(), uri);
+	}
+
+	private JsonNode read(String uri) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	private static JsonNode rows(JsonNode body) {
+		return body.has("content") ? body.get("content") : body;
+	}
+
+	private static Set<String> fieldsOf(JsonNode row) {
+		Set<String> fields = new TreeSet<>();
+		for (Iterator<String> names = row.fieldNames(); names.hasNext();) {
+			fields.add(names.next());
+		}
+		return fields;
+	}
+
+	private Employee addEmployee() {
+		return employeeService.addEmployee(TestData.employee("Summary", TestData.department("Summary").build()).build());
+	}
+}
@@ -0,0 +1,149 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.service.DepartmentService;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks the joining-date range endpoints against one department's hires: the range is inclusive
+ * at both ends, pages and the export follow joining date then id, and cohorts are counted per month
+ * or quarter by a single statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JoiningDateRangeTest {
+
+	private static final LocalDate FROM = LocalDate.of(2019, 1, 10);
+
+	private static final LocalDate TO = LocalDate.of(2019, 6, 30);
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Test
+	void cohortsCountHiresPerPeriod() throws Exception {
+		Department department = seed();
+
+		StatementCounter.reset();
+		JsonNode months = read(range("/employee/cohorts", department));
+		assertEquals(1, StatementCounter.count());
+		JsonNode quarters = read(range("/employee/cohorts", department).param("granularity", "quarter"));
+
+		assertEquals(List.of("2019-01:2:2019-01-01", "2019-02:1:2019-02-01", "2019-04:1:2019-04-01", "2019-06:2:2019-06-01"),
+				cohorts(months));
+		assertEquals(List.of("2019-Q1:3:2019-01-01", "2019-Q2:3:2019-04-01"), cohorts(quarters));
+	}
+
+	@Test
+	void pagesAndExportFollowJoiningDateThenId() throws Exception {
+		Department department = seed();
+		List<Integer> expected = employeeService.getAllEmployees().stream()
+				.filter(employee -> employee.getDepartments().stream().anyMatch(d -> d.getId() == department.getId()))
+				.filter(employee -> !employee.getDateOfJoining().isBefore(FROM) && !employee.getDateOfJoining().isAfter(TO))
+				.sorted(Comparator.comparing(Employee::getDateOfJoining).thenComparingInt(Employee::getId))
+				.map(Employee::getId)
+				.toList();
+		assertEquals(6, expected.size());
+
+		List<Integer> paged = new ArrayList<>();
+		String token = null;
+		do {
+			MockHttpServletRequestBuilder page = range("/employee/joined", department).param("pageSize", "4");
+			if (token != null) {
+				page.param("token", token);
+			}
+			JsonNode slice = read(page);
+			slice.get("content").forEach(employee -> paged.add(employee.get("id").asInt()));
+			token = slice.get("hasNext").asBoolean() ? slice.get("nextToken").asText() : null;
+		} while (token != null);
+		assertEquals(expected, paged);
+
+		MvcResult started = mockMvc.perform(range("/employee/joined/stream", department))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		List<Integer> streamed = new ArrayList<>();
+		for (String line : mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getContentAsString().split("\n")) {
+			streamed.add(objectMapper.readTree(line).get("id").asInt());
+		}
+		assertEquals(expected, streamed);
+	}
+
+	@Test
+	void invalidRangesAreRejected() throws Exception {
+		mockMvc.perform(get("/employee/cohorts").param("from", "2020-02-01").param("to", "2020-01-01"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/employee/joined").param("from", "2020-02-01").param("to", "2020-01-01"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/employee/cohorts").param("from", "2020-01-01").param("to", "2020-02-01").param("granularity", "week"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private MockHttpServletRequestBuilder range(String uri, Department department) {
+		return get(uri).param("from", FROM.toString()).param("to", TO.toString())
+				.param("departmentId", Integer.toString(department.getId()));
+	}
+
+	private JsonNode read(MockHttpServletRequestBuilder request) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	private static List<String> cohorts(JsonNode cohorts) {
+		List<String> flattened = new ArrayList<>();
+		cohorts.forEach(cohort -> flattened.add(
+				cohort.get("period").asText() + ":" + cohort.get("hires").asLong() + ":" + cohort.get("start").asText()));
+		return flattened;
+	}
+	/**
+	 * Adds a department whose hires straddle both ends of the range, and an outsider hired inside it.
+	 */
+	private Department seed() {
+		Department department = departmentService.addDepartment(TestData.department("Joined").build());
+		for (String date : new String[] { "2019-01-09", "2019-01-10", "2019-01-31", "2019-02-01", "2019-04-15",
+				"2019-06-30", "2019-06-30", "2019-07-01" }) {
+			addEmployee(department, LocalDate.parse(date));
+		}
+		addEmployee(null, LocalDate.of(2019, 3, 1));
+		return department;
+	}
+
+	private void addEmployee(Department department, LocalDate dateOfJoining) {
+		Department member = department != null ? department : TestData.department("Outsider").location("Annex").build();
+		employeeService.addEmployee(TestData.employee("Joined", member)
+				.dateOfJoining(dateOfJoining)
+				.build());
+	}
+}
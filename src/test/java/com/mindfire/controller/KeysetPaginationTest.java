@@ -0,0 +1,193 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.StatementCounter;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
+import com.mindfire.service.EmployeeService;
+/**
+ * Walks the keyset paginated endpoints page by page and checks that every row comes back exactly once,
+ * in order, with salary ties broken by id, and that a page costs the same statements wherever it starts.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.mindfire.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@MockitoSpyBean
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate.executeWithoutResult(status -> {
+			departmentRepository.deleteAll();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void employeePagesFollowSalaryThenId() throws Exception {
+		List<Employee> seeded = seed(23);
+		seeded.sort(Comparator.comparingDouble(Employee::getSalary).thenComparingInt(Employee::getId).reversed());
+
+		List<Integer> walked = walk("/employee/get-in-batches/seek", 5);
+
+		assertEquals(seeded.stream().map(Employee::getId).toList(), walked);
+	}
+
+	@Test
+	void rowsDeletedBeforeTheReloadAreSkipped() throws Exception {
+		List<Employee> seeded = seed(6);
+		seeded.sort(Comparator.comparingDouble(Employee::getSalary).thenComparingInt(Employee::getId).reversed());
+		int gone = seeded.get(2).getId();
+		Answer<?> reload = mockingDetails(employeeRepository).getMockCreationSettings().getDefaultAnswer();
+		AtomicBoolean deleted = new AtomicBoolean();
+		doAnswer(invocation -> {
+			if (deleted.compareAndSet(false, true)) {
+				transactionTemplate.executeWithoutResult(status -> employeeService.deleteEmployee(gone));
+			}
+			return reload.answer(invocation);
+		}).when(employeeRepository).findWithDepartmentsByIdIn(any());
+
+		JsonNode first = objectMapper.readTree(mockMvc.perform(get("/employee/get-in-batches/seek").param("pageSize", "3"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertEquals(List.of(seeded.get(0).getId(), seeded.get(1).getId()), ids(first));
+		assertTrue(first.get("hasNext").asBoolean());
+
+		JsonNode second = objectMapper.readTree(mockMvc.perform(get("/employee/get-in-batches/seek").param("pageSize", "3")
+				.param("token", first.get("nextToken").asText()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertEquals(seeded.subList(3, 6).stream().map(Employee::getId).toList(), ids(second));
+	}
+
+	@Test
+	void departmentPagesFollowId() throws Exception {
+		seed(3);
+		List<Integer> ids = new ArrayList<>();
+		departmentRepository.findAll().forEach(department -> ids.add(department.getId()));
+		ids.sort(null);
+
+		assertEquals(ids, walk("/department/get-in-batches/seek", 2));
+	}
+
+	@Test
+	void malformedTokensAndSizesAreRejected() throws Exception {
+		mockMvc.perform(get("/employee/get-in-batches/seek").param("pageSize", "5").param("token", "not a token"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/department/get-in-batches/seek").param("pageSize", "0"))
+				.andExpect(status().isBadRequest());
+	}
+	/**
+	 * Follows {@code nextToken} to the end, checking each page holds {@code pageSize} rows
+	 * and costs as many statements as the first page.
+	 */
+	private List<Integer> walk(String uri, int pageSize) throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		Set<Integer> seen = new HashSet<>();
+		Long firstPageStatements = null;
+		String token = null;
+		do {
+			MockHttpServletRequestBuilder request = get(uri).param("pageSize", Integer.toString(pageSize));
+			if (token != null) {
+				request.param("token", token);
+			}
+			StatementCounter.reset();
+			JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			if (firstPageStatements == null) {
+				firstPageStatements = StatementCounter.count();
+			} else {
+				assertEquals(firstPageStatements, StatementCounter.count(), "statements for a page after " + token);
+			}
+			JsonNode content = page.get("content");
+			assertEquals(content.size(), page.get("size").asInt());
+			assertFalse(content.isEmpty());
+			for (JsonNode row : content) {
+				assertTrue(seen.add(row.get("id").asInt()), "repeated " + row);
+				if (row.has("departments")) {
+					assertEquals(1, row.get("departments").size(), "departments of " + row);
+				}
+				ids.add(row.get("id").asInt());
+			}
+			token = page.get("hasNext").asBoolean() ? page.get("nextToken").asText() : null;
+			if (token != null) {
+				assertEquals(pageSize, content.size());
+			} else {
+				assertNull(page.get("nextToken").textValue());
+			}
+		} while (token != null);
+		return ids;
+	}
+
+	private static List<Integer> ids(JsonNode page) {
+		List<Integer> ids = new ArrayList<>();
+		page.get("content").forEach(row -> ids.add(row.get("id").asInt()));
+		assertEquals(ids.size(), page.get("size").asInt());
+		return ids;
+	}
+	/**
+	 * Adds employees in pairs sharing a salary, all in one of two new departments.
+	 */
+	private List<Employee> seed(int count) {
+		return transactionTemplate.execute(status -> {
+			List<Department> departments = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				departments.add(departmentRepository.save(TestData.department("Keyset").build()));
+			}
+			List<Employee> employees = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				employees.add(employeeRepository.save(TestData.employee("Keyset", departments.get(i % 2))
+						.salary(5000 + i / 2 * 100)
+						.build()));
+			}
+			return employees;
+		});
+	}
+}
@@ -0,0 +1,125 @@
+package com.mindfire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.repo.EmployeeRepository;
+import com.mindfire.service.DepartmentService;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks the top earners served from the salary leaderboard: every employee sharing one of the
+ * n highest salaries is included, results follow salary then id, and they match the fallback query.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TopPaidEmployeesTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private DepartmentService departmentService;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void tiedSalariesAreRankedTogether() throws Exception {
+		Department department = addDepartment();
+		List<Employee> employees = new ArrayList<>();
+		for (double salary : new double[] { 900, 700, 900, 800, 600, 700 }) {
+			employees.add(addEmployee(department, salary));
+		}
+		addEmployee(addDepartment(), 1000);
+
+		assertEquals(idsOf(employees, 900, 800), top(2, department.getId()));
+		assertEquals(idsOf(employees, 900, 800, 700), top(3, department.getId()));
+		assertEquals(idsOf(employees, 900, 800, 700, 600), top(10, department.getId()));
+		for (int n = 1; n <= 4; n++) {
+			List<Integer> fallback = employeeRepository.findDepartmentEmployeesWithTopDistinctSalaries(department.getId(), n)
+					.stream().map(Employee::getId).sorted().toList();
+			assertEquals(fallback, top(n, department.getId()).stream().sorted().toList());
+		}
+	}
+
+	@Test
+	void rankingFollowsSalaryChanges() throws Exception {
+		Department department = addDepartment();
+		Employee first = addEmployee(department, 900);
+		Employee second = addEmployee(department, 800);
+
+		employeeService.updateEmployeeSalary(second.getId(), 950);
+		assertEquals(List.of(second.getId()), top(1, department.getId()));
+
+		double highest = 1_000_000_000 + TestData.next();
+		employeeService.updateEmployeeSalary(first.getId(), highest);
+		assertEquals(List.of(first.getId()), top(1, null));
+	}
+
+	@Test
+	void outOfRangeCountIsRejected() throws Exception {
+		mockMvc.perform(get("/employee/top").param("n", "0")).andExpect(status().isBadRequest());
+	}
+
+	private List<Integer> top(int n, Integer departmentId) throws Exception {
+		MockHttpServletRequestBuilder request = get("/employee/top").param("n", Integer.toString(n));
+		if (departmentId != null) {
+			request.param("departmentId", departmentId.toString());
+		}
+		JsonNode employees = objectMapper.readTree(mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		List<Integer> ids = new ArrayList<>();
+		employees.forEach(employee -> ids.add(employee.get("id").asInt()));
+		return ids;
+	}
+	/**
+	 * Ids of the employees with the given salaries, highest salary first and ties by id.
+	 */
+	private static List<Integer> idsOf(List<Employee> employees, double... salaries) {
+		Set<Double> included = new HashSet<>();
+		for (double salary : salaries) {
+			included.add(salary);
+		}
+		return employees.stream()
+				.filter(employee -> included.contains(employee.getSalary()))
+				.sorted(Comparator.comparingDouble(Employee::getSalary).reversed().thenComparingInt(Employee::getId))
+				.map(Employee::getId)
+				.toList();
+	}
+
+	private Department addDepartment() {
+		return departmentService.addDepartment(TestData.department("Top").build());
+	}
+
+	private Employee addEmployee(Department department, double salary) {
+		return employeeService.addEmployee(TestData.employee("Top", department)
+				.salary(salary)
+				.dateOfJoining(LocalDate.now())
+				.build());
+	}
+}
@@ -0,0 +1,119 @@
+package com.mindfire.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mindfire.TestData;
+import com.mindfire.entity.Employee;
+import com.mindfire.model.EmployeeSummary;
+import com.mindfire.repo.EmployeeRepository;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks the snapshot against the database after every kind of change, both while changes are
+ * held in the overlay and after a bulk insert large enough to merge them into the sorted columns.
+ */
+@SpringBootTest(properties = "ems.employee.snapshot.enabled=true")
+@ActiveProfiles("test")
+class EmployeeColumnSnapshotTest {
+
+	private static final LocalDate START = LocalDate.of(2015, 1, 1);
+
+	@Autowired
+	private EmployeeColumnSnapshot snapshot;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void matchesTheDatabaseThroughOverlayAndMerge() {
+		assertTrue(snapshot.isReady());
+		List<Employee> added = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			added.add(addEmployee(3000 + i * 1000, START.plusYears(i)));
+		}
+		assertFalse(overlay().isEmpty());
+		assertMatchesDatabase();
+
+		employeeService.updateEmployeeSalary(added.get(0).getId(), 20000);
+		employeeService.updateEmployeeSalary(added.get(9).getId(), 1000);
+		transactionTemplate.executeWithoutResult(status -> employeeService.deleteEmployee(added.get(5).getId()));
+		assertMatchesDatabase();
+
+		// Three chunks of the default bulk chunk size; the third one no longer fits in the overlay
+		List<Employee> bulk = new ArrayList<>();
+		for (int i = 0; i < 1100; i++) {
+			bulk.add(employee(1000 + i * 37 % 30000, START.plusDays(i * 11L)));
+		}
+		employeeService.addEmployees(bulk);
+		assertTrue(overlay().isEmpty());
+		assertMatchesDatabase();
+
+		employeeService.updateEmployeeSalary(bulk.get(0).getId(), 50000);
+		transactionTemplate.executeWithoutResult(status -> employeeService.deleteEmployee(bulk.get(1).getId()));
+		assertMatchesDatabase();
+	}
+
+	@Test
+	void salaryListIsServedFromTheSnapshot() {
+		Employee employee = addEmployee(7_000_000 + TestData.next(), LocalDate.now());
+
+		List<Employee> above = employeeService.getAllEmployeesBySalary(7_000_000);
+
+		assertTrue(above.stream().anyMatch(found -> found.getId() == employee.getId()));
+		assertEquals(Set.copyOf(snapshot.idsWithSalaryAbove(7_000_000)),
+				Set.copyOf(above.stream().map(Employee::getId).toList()));
+	}
+
+	private void assertMatchesDatabase() {
+		for (double salary : new double[] { 0, 2500, 4000, 8999.5, 12000, 25000, 1_000_000 }) {
+			assertEquals(Set.copyOf(employeeRepository.findSummariesBySalaryGreaterThan(salary).stream()
+					.map(EmployeeSummary::getId).toList()), asSet(snapshot.idsWithSalaryAbove(salary)), "salary " + salary);
+		}
+		for (LocalDate date : new LocalDate[] { START.minusDays(1), START, START.plusYears(3).plusDays(17), LocalDate.now() }) {
+			assertEquals(Set.copyOf(employeeRepository.findSummariesByDateOfJoiningAfter(date).stream()
+					.map(EmployeeSummary::getId).toList()), asSet(snapshot.idsJoinedAfter(date)), "date " + date);
+		}
+	}
+	/**
+	 * Converts to a set, failing if any id was returned twice.
+	 */
+	private static Set<Integer> asSet(List<Integer> ids) {
+		Set<Integer> set = new HashSet<>(ids);
+		assertEquals(ids.size(), set.size(), "repeated ids");
+		return set;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Integer, ?> overlay() {
+		return (Map<Integer, ?>) ReflectionTestUtils.getField(snapshot, "overlay");
+	}
+
+	private Employee addEmployee(double salary, LocalDate dateOfJoining) {
+		return employeeService.addEmployee(employee(salary, dateOfJoining));
+	}
+
+	private static Employee employee(double salary, LocalDate dateOfJoining) {
+		return TestData.employee("Snapshot")
+				.salary(salary)
+				.dateOfJoining(dateOfJoining)
+				.build();
+	}
+}
@@ -0,0 +1,100 @@
+package com.mindfire.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mindfire.TestData;
+import com.mindfire.entity.Employee;
+import com.mindfire.service.EmployeeService;
+/**
+ * Keeps the search index current through the service layer and checks prefix, rename and
+ * typo matching. Every test uses surnames of its own, so data left by other tests never matches.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeSearchIndexTest {
+
+	@Autowired
+	private EmployeeSearchIndex searchIndex;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void prefixesOfNamesWordsAndEmailsMatchClosestTermsFirst() {
+		String surname = surname();
+		Employee longer = addEmployee("Ann " + surname + "son", "ann." + surname + "son@example.com");
+		Employee exact = addEmployee("John " + surname, "jsmith" + surname + "@example.com");
+
+		assertEquals(List.of(exact.getId(), longer.getId()), searchIndex.search(surname, false, 10));
+		assertEquals(List.of(exact.getId()), searchIndex.search("  JOHN   " + surname, false, 10));
+		assertEquals(List.of(exact.getId()), searchIndex.search("jsmith" + surname + "@", false, 10));
+		assertEquals(List.of(exact.getId()), searchIndex.search(surname, false, 1));
+	}
+
+	@Test
+	void renameBetweenNamesWithTheSameHashIsIndexed() {
+		String surname = surname();
+		String before = "Aa " + surname;
+		String after = "BB " + surname;
+		assertEquals(before.hashCode(), after.hashCode());
+		Employee employee = addEmployee(before, surname + "@example.com");
+		assertEquals(List.of(employee.getId()), searchIndex.search("aa " + surname, false, 10));
+
+		employee.setName(after);
+		employeeService.updatEmployee(employee.getId(), employee);
+
+		assertEquals(List.of(employee.getId()), searchIndex.search("bb " + surname, false, 10));
+		assertEquals(List.of(), searchIndex.search("aa " + surname, false, 10));
+	}
+
+	@Test
+	void deletedEmployeesAreDropped() {
+		String surname = surname();
+		Employee employee = addEmployee("Gone " + surname, surname + "@example.com");
+		assertEquals(List.of(employee.getId()), searchIndex.search(surname, false, 10));
+
+		// Outside a request the delete needs a session to load the memberships it removes
+		transactionTemplate.executeWithoutResult(status -> employeeService.deleteEmployee(employee.getId()));
+
+		assertEquals(List.of(), searchIndex.search(surname, false, 10));
+	}
+
+	@Test
+	void fuzzySearchFindsOneEditAwayAfterExactMatches() {
+		String surname = surname();
+		Employee employee = addEmployee("Margaret " + surname, surname + "@example.com");
+		String typo = "magraret";
+
+		assertEquals(List.of(), searchIndex.search(typo + " " + surname, false, 10));
+		assertEquals(List.of(employee.getId()), searchIndex.search(typo + " " + surname, true, 10));
+		// Substitution, deletion and insertion
+		assertTrue(searchIndex.search("margeret " + surname, true, 10).contains(employee.getId()));
+		assertTrue(searchIndex.search("margret " + surname, true, 10).contains(employee.getId()));
+		assertTrue(searchIndex.search("margarett " + surname, true, 10).contains(employee.getId()));
+		// Two edits away
+		assertEquals(List.of(), searchIndex.search("mrgret " + surname, true, 10));
+	}
+
+	private static String surname() {
+		return "zq" + Integer.toString(TestData.next() + 1000, 36) + "x";
+	}
+
+	private Employee addEmployee(String name, String email) {
+		return employeeService.addEmployee(TestData.employee("Search", TestData.department("Search").build())
+				.name(name)
+				.email(email)
+				.dateOfJoining(LocalDate.now())
+				.build());
+	}
+}
@@ -0,0 +1,91 @@
+package com.mindfire.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.model.BulkTransferRequest;
+import com.mindfire.model.SalaryStats;
+import com.mindfire.service.DepartmentService;
+import com.mindfire.service.EmployeeService;
+/**
+ * Checks that the salary leaderboard and distribution, which share one load of the changed rows,
+ * both follow salary updates, transfers and deletions of a department's employees.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SalaryPlacementsTest {
+
+	@Autowired
+	private SalaryPlacements salaryPlacements;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private DepartmentService departmentService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void viewsFollowEveryChange() {
+		assertTrue(salaryPlacements.isReady());
+		Department department = addDepartment();
+		Department other = addDepartment();
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 1; i <= 9; i++) {
+			employees.add(addEmployee(department, i * 1000));
+		}
+		assertStats(department, 9, 45000, 1000, 9000);
+		assertEquals(5000, departmentService.getSalaryStats(department.getId()).getP50(), 50);
+		assertTop(department, employees.get(8));
+
+		employeeService.updateEmployeeSalary(employees.get(8).getId(), 500);
+		assertStats(department, 9, 36500, 500, 8000);
+		assertTop(department, employees.get(7));
+
+		employeeService.transferEmployees(new BulkTransferRequest(List.of(employees.get(8).getId()), department.getId(), other.getId()));
+		assertStats(department, 8, 36000, 1000, 8000);
+		assertStats(other, 1, 500, 500, 500);
+		assertTop(other, employees.get(8));
+
+		transactionTemplate.executeWithoutResult(status -> employeeService.deleteEmployee(employees.get(7).getId()));
+		assertStats(department, 7, 28000, 1000, 7000);
+		assertTop(department, employees.get(6));
+	}
+
+	private void assertStats(Department department, long count, double sum, double min, double max) {
+		SalaryStats stats = departmentService.getSalaryStats(department.getId());
+		assertEquals(count, stats.getCount(), "count of " + department.getName());
+		assertEquals(sum, stats.getSum(), 0.001, "sum of " + department.getName());
+		assertEquals(min, stats.getMin(), "min of " + department.getName());
+		assertEquals(max, stats.getMax(), "max of " + department.getName());
+		assertEquals(sum / count, stats.getMean(), 0.001, "mean of " + department.getName());
+	}
+
+	private void assertTop(Department department, Employee expected) {
+		List<Employee> top = employeeService.getTopPaidEmployees(1, department.getId());
+		assertEquals(List.of(expected.getId()), top.stream().map(Employee::getId).toList());
+	}
+
+	private Department addDepartment() {
+		return departmentService.addDepartment(TestData.department("Placements").build());
+	}
+
+	private Employee addEmployee(Department department, double salary) {
+		return employeeService.addEmployee(TestData.employee("Placements", department)
+				.salary(salary)
+				.dateOfJoining(LocalDate.now())
+				.build());
+	}
+}
@@ -0,0 +1,111 @@
+package com.mindfire.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.mindfire.model.SalaryStats;
+/**
+ * Checks the sketch against the exact statistics of the same salaries, including after removals
+ * and merges.
+ */
+class SalarySketchTest {
+
+	@Test
+	void quantilesAreWithinTheRelativeAccuracy() {
+		Random random = new Random(42);
+		SalarySketch sketch = new SalarySketch();
+		List<Double> salaries = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			double salary = Math.round((1000 + random.nextDouble() * random.nextDouble() * 200_000) * 100) / 100.0;
+			salaries.add(salary);
+			sketch.add(salary);
+		}
+		Collections.sort(salaries);
+		for (double quantile : new double[] { 0, 0.25, 0.5, 0.9, 0.99, 1 }) {
+			double exact = salaries.get((int) (quantile * (salaries.size() - 1)));
+			assertWithinAccuracy(exact, sketch.quantile(quantile), "quantile " + quantile);
+		}
+		SalaryStats stats = sketch.toStats();
+		assertEquals(salaries.size(), stats.getCount());
+		assertEquals(salaries.stream().mapToDouble(Double::doubleValue).sum(), stats.getSum(), 0.01);
+		assertWithinAccuracy(salaries.get(salaries.size() / 2), stats.getP50(), "p50");
+		assertWithinAccuracy(salaries.get((int) (0.9 * (salaries.size() - 1))), stats.getP90(), "p90");
+	}
+
+	@Test
+	void minAndMaxFollowRemovals() {
+		SalarySketch sketch = new SalarySketch();
+		for (double salary : new double[] { 1003.5, 1004, 52_345.67, 99_999.99, 100_000 }) {
+			sketch.add(salary);
+		}
+		assertWithinAccuracy(1003.5, sketch.toStats().getMin(), "min");
+		assertWithinAccuracy(100_000, sketch.toStats().getMax(), "max");
+
+		sketch.remove(1003.5);
+		sketch.remove(1004);
+		sketch.remove(100_000);
+
+		SalaryStats stats = sketch.toStats();
+		assertEquals(2, stats.getCount());
+		assertWithinAccuracy(52_345.67, stats.getMin(), "min");
+		assertWithinAccuracy(99_999.99, stats.getMax(), "max");
+		assertEquals(52_345.67 + 99_999.99, stats.getSum(), 0.001);
+	}
+
+	@Test
+	void duplicatesStayUntilTheLastOneIsRemoved() {
+		SalarySketch sketch = new SalarySketch();
+		sketch.add(2000);
+		sketch.add(2000);
+		sketch.add(3000);
+		sketch.remove(2000);
+		assertWithinAccuracy(2000, sketch.toStats().getMin(), "min");
+		sketch.remove(2000);
+		assertWithinAccuracy(3000, sketch.toStats().getMin(), "min");
+	}
+
+	@Test
+	void mergedDepartmentSketchesEqualTheOrganisationSketch() {
+		Random random = new Random(7);
+		SalarySketch organisation = new SalarySketch();
+		List<SalarySketch> departments = List.of(new SalarySketch(), new SalarySketch(), new SalarySketch());
+		for (int i = 0; i < 3000; i++) {
+			double salary = i % 100 == 0 ? 0 : Math.round((500 + random.nextDouble() * 150_000) * 100) / 100.0;
+			organisation.add(salary);
+			departments.get(random.nextInt(departments.size())).add(salary);
+		}
+		SalarySketch merged = new SalarySketch();
+		departments.forEach(merged::merge);
+
+		assertEquals(organisation.toStats(), merged.toStats());
+		for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+			assertEquals(organisation.quantile(quantile), merged.quantile(quantile), "quantile " + quantile);
+		}
+	}
+
+	@Test
+	void zeroSalariesAndEmptySketches() {
+		SalarySketch sketch = new SalarySketch();
+		assertEquals(new SalaryStats(), sketch.toStats());
+		sketch.add(0);
+		sketch.add(500);
+		assertEquals(0, sketch.toStats().getMin());
+		assertEquals(0, sketch.quantile(0));
+		sketch.remove(0);
+		sketch.remove(500);
+		assertTrue(sketch.isEmpty());
+		assertEquals(new SalaryStats(), sketch.toStats());
+	}
+
+	private static void assertWithinAccuracy(double expected, double actual, String what) {
+		assertTrue(Math.abs(actual - expected) <= expected * SalarySketch.RELATIVE_ACCURACY,
+				what + ": expected " + expected + " within 1%, was " + actual);
+	}
+}
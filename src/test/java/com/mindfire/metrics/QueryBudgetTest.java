@@ -0,0 +1,170 @@
+package com.mindfire.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.exception.QueryBudgetExceededException;
+import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * Runs the budgeted service methods against small and large data sets. The test profile sets
+ * ems.query-budget.fail-on-exceed, so a method that goes over its {@link QueryBudget} fails its
+ * request and with it the test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryBudgetTest.Overspender.class)
+class QueryBudgetTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private Overspender overspender;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate.executeWithoutResult(status -> {
+			departmentRepository.deleteAll();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void countEmployeeOfEachDepartmentStaysWithinBudget() throws Exception {
+		for (int employees : new int[] { 5, 50 }) {
+			seed(10, employees);
+			mockMvc.perform(get("/department/count")).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void getAllEmployeesStaysWithinBudget() throws Exception {
+		for (int employees : new int[] { 5, 50 }) {
+			seed(10, employees);
+			mockMvc.perform(get("/employee/get")).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void addEmployeeStaysWithinBudget() throws Exception {
+		for (int departments : new int[] { 1, 20 }) {
+			String ids = seed(departments, 0).stream()
+					.map(department -> "{\"id\":" + department.getId() + "}")
+					.collect(Collectors.joining(","));
+			mockMvc.perform(post("/employee/add")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"name\":\"Employee " + TestData.next() + "\",\"email\":\"" + TestData.email("Employee") + "\",\"salary\":5000,"
+							+ "\"dateOfJoining\":\"" + LocalDate.now() + "\",\"departments\":[" + ids + "]}"))
+					.andExpect(status().isCreated());
+		}
+	}
+
+	@Test
+	void employeeTransferStaysWithinBudget() throws Exception {
+		for (int departments : new int[] { 2, 20 }) {
+			List<Department> seeded = seed(departments, 1);
+			Employee employee = employeeRepository.findAll().get(0);
+			employeeTransfer(employee.getId(), seeded.get(0).getId(), seeded.get(1).getId());
+		}
+	}
+
+	@Test
+	void overspendingFailsWithTheStatementsExecuted() {
+		QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class, overspender::countTwice);
+		assertTrue(exception.getMessage().contains("executed 2 SQL statements, budget is 1"), exception.getMessage());
+		assertTrue(exception.getMessage().contains("from employee"), exception.getMessage());
+	}
+
+	@Test
+	void listenersAfterCommitAreNotCharged() {
+		overspender.countOnceThenNotify();
+	}
+
+	private void employeeTransfer(int employeeId, int fromDepartmentId, int toDepartmentId) throws Exception {
+		mockMvc.perform(get("/employee/transfer")
+				.param("empId", String.valueOf(employeeId))
+				.param("oldDepIdd", String.valueOf(fromDepartmentId))
+				.param("new_dep_id", String.valueOf(toDepartmentId)))
+				.andExpect(status().isOk());
+	}
+	/**
+	 * Adds departments and employees that are members of every one of them.
+	 */
+	private List<Department> seed(int departmentCount, int employeeCount) {
+		return transactionTemplate.execute(status -> {
+			List<Department> departments = new ArrayList<>();
+			for (int i = 0; i < departmentCount; i++) {
+				departments.add(departmentRepository.save(TestData.department("Department").build()));
+			}
+			for (int i = 0; i < employeeCount; i++) {
+				employeeRepository.save(TestData.employee("Employee", departments).build());
+			}
+			return departments;
+		});
+	}
+
+	@TestConfiguration
+	static class Overspender {
+
+		@Autowired
+		private EmployeeRepository employeeRepository;
+
+		@Autowired
+		private ApplicationEventPublisher publisher;
+
+		@QueryBudget(1)
+		public void countTwice() {
+			employeeRepository.count();
+			employeeRepository.count();
+		}
+
+		@Transactional
+		@QueryBudget(1)
+		public void countOnceThenNotify() {
+			employeeRepository.count();
+			publisher.publishEvent(new Counted());
+		}
+
+		@TransactionalEventListener
+		public void onCounted(Counted event) {
+			employeeRepository.count();
+			employeeRepository.count();
+		}
+	}
+
+	static class Counted {
+	}
+}
@@ -0,0 +1,40 @@
+package com.mindfire.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.mindfire.exception.InvalidRequestException;
+/**
+ * Checks that page tokens survive the round trip through their URL-safe form and that anything
+ * else a client sends instead is rejected as an invalid request.
+ */
+class SeekTokenTest {
+
+	@Test
+	void decodesWhatItEncodes() {
+		for (SeekToken token : new SeekToken[] { new SeekToken(0, 1), new SeekToken(1234.56, 42),
+				new SeekToken(-19000, Integer.MAX_VALUE), new SeekToken(1e-7, 7), new SeekToken(3e12, 8) }) {
+			String encoded = token.encode();
+			assertFalse(encoded.matches(".*[+/=].*"), encoded);
+			assertEquals(token, SeekToken.decode(encoded));
+		}
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		for (String token : new String[] { "not base64!", encode("no separator"), encode("abc:1"), encode("1.5:abc"),
+				encode(":"), encode("1.5:") }) {
+			assertThrows(InvalidRequestException.class, () -> SeekToken.decode(token), token);
+		}
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
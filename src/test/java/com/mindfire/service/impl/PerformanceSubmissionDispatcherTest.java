@@ -0,0 +1,140 @@
+package com.mindfire.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mindfire.client.PerformanceClient;
+import com.mindfire.entity.PerformanceSubmission;
+import com.mindfire.model.PerformanceResponse;
+import com.mindfire.repo.PerformanceSubmissionRepository;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+/**
+ * Checks that submissions are delivered with no transaction open, that each outcome is recorded on
+ * its own so one failure leaves the delivered rows sent, and that expired claims are picked up again.
+ */
+@SpringBootTest(properties = { "ems.performance.submission.poll-interval=1h", "ems.performance.submission.initial-backoff=1h",
+		"ems.performance.submission.max-backoff=2h" })
+@ActiveProfiles("test")
+class PerformanceSubmissionDispatcherTest {
+
+	@Autowired
+	private PerformanceSubmissionDispatcher dispatcher;
+	@Autowired
+	private PerformanceSubmissionRepository submissionRepository;
+	@Autowired
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+	@MockitoBean
+	private PerformanceClient performanceClient;
+
+	@BeforeEach
+	void setUp() {
+		submissionRepository.deleteAll();
+		circuitBreakerRegistry.circuitBreaker("performanceBreaker").reset();
+	}
+
+	@Test
+	void eachOutcomeIsRecordedOnItsOwn() {
+		PerformanceSubmission empty = queue(1, PerformanceSubmission.Status.PENDING, Instant.now());
+		PerformanceSubmission broken = queue(2, PerformanceSubmission.Status.PENDING, Instant.now());
+		PerformanceSubmission rejected = queue(3, PerformanceSubmission.Status.PENDING, Instant.now());
+		PerformanceSubmission delivered = queue(4, PerformanceSubmission.Status.PENDING, Instant.now());
+		answer(1, null);
+		answer(2, new IllegalStateException("connection reset"));
+		answer(3, badRequest("rating out of range"));
+		answer(4, PerformanceResponse.builder().id(77).build());
+
+		dispatcher.dispatch();
+
+		PerformanceSubmission stored = reload(empty);
+		assertEquals(PerformanceSubmission.Status.SENT, stored.getStatus());
+		assertNull(stored.getPerformanceId());
+		stored = reload(broken);
+		assertEquals(PerformanceSubmission.Status.PENDING, stored.getStatus());
+		assertEquals(1, stored.getAttempts());
+		assertEquals("connection reset", stored.getLastError());
+		assertTrue(stored.getNextAttemptAt().isAfter(Instant.now().plus(50, ChronoUnit.MINUTES)));
+		stored = reload(rejected);
+		assertEquals(PerformanceSubmission.Status.FAILED, stored.getStatus());
+		assertEquals("rating out of range", stored.getLastError());
+		stored = reload(delivered);
+		assertEquals(PerformanceSubmission.Status.SENT, stored.getStatus());
+		assertEquals(77, stored.getPerformanceId());
+	}
+
+	@Test
+	void expiredClaimsAreDeliveredAgain() {
+		PerformanceSubmission abandoned = queue(5, PerformanceSubmission.Status.IN_FLIGHT, Instant.now().minusSeconds(1));
+		PerformanceSubmission inFlight = queue(6, PerformanceSubmission.Status.IN_FLIGHT, Instant.now().plusSeconds(600));
+		answer(5, PerformanceResponse.builder().id(78).build());
+
+		dispatcher.dispatch();
+
+		PerformanceSubmission stored = reload(abandoned);
+		assertEquals(PerformanceSubmission.Status.SENT, stored.getStatus());
+		assertEquals(78, stored.getPerformanceId());
+		assertEquals(1, stored.getAttempts());
+		assertEquals(PerformanceSubmission.Status.IN_FLIGHT, reload(inFlight).getStatus());
+	}
+
+	private PerformanceSubmission queue(int employeeId, PerformanceSubmission.Status status, Instant nextAttemptAt) {
+		return submissionRepository.save(PerformanceSubmission.builder()
+				.employeeId(employeeId)
+				.rating(4)
+				.feedback("Feedback " + employeeId)
+				.status(status)
+				.createdAt(Instant.now())
+				.nextAttemptAt(nextAttemptAt)
+				.build());
+	}
+	/**
+	 * Answers the submission of {@code employeeId} with {@code outcome}, thrown when it is an exception,
+	 * after checking that the call is made outside any transaction.
+	 */
+	private void answer(int employeeId, Object outcome) {
+		doAnswer(invocation -> {
+			assertFalse(TransactionSynchronizationManager.isActualTransactionActive(), "transaction open during delivery");
+			if (outcome instanceof RuntimeException e) {
+				throw e;
+			}
+			return outcome;
+		}).when(performanceClient).addPerformanceResponse(any(), eq(employeeId));
+	}
+
+	private PerformanceSubmission reload(PerformanceSubmission submission) {
+		return submissionRepository.findById(submission.getId()).orElseThrow();
+	}
+
+	private static FeignException badRequest(String body) {
+		Request request = Request.create(Request.HttpMethod.POST, "/performance/addPerformance/3", Map.of(), null,
+				StandardCharsets.UTF_8, null);
+		return FeignException.errorStatus("addPerformanceResponse", Response.builder()
+				.status(400)
+				.reason("Bad Request")
+				.request(request)
+				.headers(Map.of())
+				.body(body, StandardCharsets.UTF_8)
+				.build());
+	}
+}
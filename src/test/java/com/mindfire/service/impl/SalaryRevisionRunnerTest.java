@@ -0,0 +1,168 @@
+package com.mindfire.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mindfire.TestData;
+import com.mindfire.entity.Department;
+import com.mindfire.entity.Employee;
+import com.mindfire.event.EmployeeChangedEvent;
+import com.mindfire.model.SalaryRevisionJob;
+import com.mindfire.model.SalaryRevisionScope;
+import com.mindfire.repo.DepartmentRepository;
+import com.mindfire.repo.EmployeeRepository;
+/**
+ * Runs revisions in chunks of two against a department of their own, so other tests' rows are
+ * never revised. The worker can be held after a chunk to cancel it or to outlast the retention.
+ */
+@SpringBootTest(properties = { "ems.salary-revision.chunk-size=2", "ems.salary-revision.retention=200ms" })
+@ActiveProfiles("test")
+@Import(SalaryRevisionRunnerTest.ChunkGate.class)
+class SalaryRevisionRunnerTest {
+
+	@Autowired
+	private SalaryRevisionRunner runner;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private ChunkGate gate;
+
+	@Test
+	void onlyEmployeesInScopeAreRevised() {
+		List<Employee> inDepartment = seed(1000, 2000, 3000, 4000, 5000);
+		List<Employee> elsewhere = seed(2500, 3500);
+		SalaryRevisionScope scope = SalaryRevisionScope.builder()
+				.departmentIds(Set.of(departmentOf(inDepartment)))
+				.minSalary(2000.0)
+				.maxSalary(4000.0)
+				.build();
+
+		SalaryRevisionJob job = runner.runNow(10, scope);
+
+		assertEquals(SalaryRevisionJob.Status.COMPLETED, job.getStatus());
+		assertEquals(3, job.getMatchedEmployees());
+		assertEquals(3, job.getRevisedEmployees());
+		assertEquals(2, job.getChunksCompleted());
+		assertEquals(inDepartment.get(3).getId(), job.getLastEmployeeId());
+		assertEquals(Map.of(1000.0, 1000.0, 2000.0, 2200.0, 3000.0, 3300.0, 4000.0, 4400.0, 5000.0, 5000.0), revisions(inDepartment));
+		assertEquals(Map.of(2500.0, 2500.0, 3500.0, 3500.0), revisions(elsewhere));
+	}
+
+	@Test
+	void cancelStopsAfterTheCurrentChunkAndRunningJobsOutlastTheRetention() throws Exception {
+		List<Employee> employees = seed(1000, 2000, 3000, 4000, 5000, 6000);
+		SalaryRevisionScope scope = SalaryRevisionScope.builder().departmentIds(Set.of(departmentOf(employees))).build();
+
+		gate.hold();
+		SalaryRevisionJob job = runner.submit(10, scope);
+		try {
+			assertTrue(gate.held.await(10, TimeUnit.SECONDS), "first chunk committed");
+			Thread.sleep(400);
+			SalaryRevisionJob running = runner.get(job.getId()).orElseThrow();
+			assertEquals(SalaryRevisionJob.Status.RUNNING, running.getStatus());
+			assertEquals(2, running.getRevisedEmployees());
+			runner.cancel(job.getId());
+		} finally {
+			gate.release();
+		}
+
+		SalaryRevisionJob finished = awaitFinished(job.getId());
+		assertEquals(SalaryRevisionJob.Status.CANCELLED, finished.getStatus());
+		assertEquals(6, finished.getMatchedEmployees());
+		assertEquals(2, finished.getRevisedEmployees());
+		assertEquals(employees.get(1).getId(), finished.getLastEmployeeId());
+		assertEquals(Map.of(1000.0, 1100.0, 2000.0, 2200.0, 3000.0, 3000.0, 4000.0, 4000.0, 5000.0, 5000.0, 6000.0, 6000.0),
+				revisions(employees));
+
+		Thread.sleep(400);
+		assertTrue(runner.get(job.getId()).isEmpty(), "finished job retained past its retention");
+	}
+
+	private SalaryRevisionJob awaitFinished(String jobId) throws InterruptedException {
+		for (int attempt = 0; attempt < 200; attempt++) {
+			SalaryRevisionJob job = runner.get(jobId).orElseThrow();
+			if (job.isFinished()) {
+				return job;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Salary revision " + jobId + " did not finish");
+	}
+	/**
+	 * Maps each employee's seeded salary to its current one.
+	 */
+	private Map<Double, Double> revisions(List<Employee> seeded) {
+		Map<Integer, Double> current = employeeRepository.findAllById(seeded.stream().map(Employee::getId).toList()).stream()
+				.collect(Collectors.toMap(Employee::getId, Employee::getSalary));
+		return seeded.stream().collect(Collectors.toMap(Employee::getSalary, employee -> current.get(employee.getId())));
+	}
+
+	private static int departmentOf(List<Employee> employees) {
+		return employees.get(0).getDepartments().iterator().next().getId();
+	}
+	/**
+	 * Adds a department with one employee per salary, in ascending id order.
+	 */
+	private List<Employee> seed(double... salaries) {
+		return transactionTemplate.execute(status -> {
+			Department department = departmentRepository.save(TestData.department("Revision").build());
+			List<Employee> employees = new ArrayList<>();
+			for (double salary : salaries) {
+				employees.add(employeeRepository.save(TestData.employee("Revision", department)
+						.salary(salary)
+						.dateOfJoining(LocalDate.now())
+						.build()));
+			}
+			return employees;
+		});
+	}
+	/**
+	 * Holds the revision worker after its next committed chunk until released.
+	 */
+	@TestConfiguration
+	static class ChunkGate {
+
+		private volatile CountDownLatch held = new CountDownLatch(0);
+
+		private volatile CountDownLatch released = new CountDownLatch(0);
+
+		void hold() {
+			held = new CountDownLatch(1);
+			released = new CountDownLatch(1);
+		}
+
+		void release() {
+			released.countDown();
+		}
+
+		@EventListener
+		public void onEmployeeChanged(EmployeeChangedEvent event) throws InterruptedException {
+			if (Thread.currentThread().getName().startsWith("salary-revision-") && held.getCount() > 0) {
+				held.countDown();
+				released.await(10, TimeUnit.SECONDS);
+			}
+		}
+	}
+}